@@ -0,0 +1,27 @@
+package com.cache;
+
+import com.model.Airline;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes to the airlines collection made by any instance.
+ */
+@Component
+public class AirlineChangeFeed extends ChangeFeed<Airline, AirlineChangeFeed.AirlineChange> {
+
+    /**
+     * A write to one airline; {@code airline} is the document after the write, or null for deletes
+     */
+    public record AirlineChange(String airlineId, Airline airline) {
+    }
+
+    public AirlineChangeFeed(ReactiveMongoTemplate mongoTemplate) {
+        super(mongoTemplate, Airline.class);
+    }
+
+    @Override
+    protected AirlineChange toChange(String id, Airline airline) {
+        return new AirlineChange(id, airline);
+    }
+}
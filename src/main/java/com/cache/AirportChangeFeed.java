@@ -0,0 +1,27 @@
+package com.cache;
+
+import com.model.Airport;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes to the airports collection made by any instance.
+ */
+@Component
+public class AirportChangeFeed extends ChangeFeed<Airport, AirportChangeFeed.AirportChange> {
+
+    /**
+     * A write to one airport; {@code airport} is the document after the write, or null for deletes
+     */
+    public record AirportChange(String airportId, Airport airport) {
+    }
+
+    public AirportChangeFeed(ReactiveMongoTemplate mongoTemplate) {
+        super(mongoTemplate, Airport.class);
+    }
+
+    @Override
+    protected AirportChange toChange(String id, Airport airport) {
+        return new AirportChange(id, airport);
+    }
+}
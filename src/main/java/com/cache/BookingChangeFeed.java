@@ -0,0 +1,27 @@
+package com.cache;
+
+import com.model.Booking;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes to the bookings collection made by any instance: new bookings and cancellations.
+ */
+@Component
+public class BookingChangeFeed extends ChangeFeed<Booking, BookingChangeFeed.BookingChange> {
+
+    /**
+     * A write to one booking; {@code booking} is the document after the write, or null for deletes
+     */
+    public record BookingChange(String bookingId, Booking booking) {
+    }
+
+    public BookingChangeFeed(ReactiveMongoTemplate mongoTemplate) {
+        super(mongoTemplate, Booking.class);
+    }
+
+    @Override
+    protected BookingChange toChange(String id, Booking booking) {
+        return new BookingChange(id, booking);
+    }
+}
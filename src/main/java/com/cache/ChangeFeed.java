@@ -0,0 +1,89 @@
+package com.cache;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.ChangeStreamEvent;
+import org.springframework.data.mongodb.core.ChangeStreamOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+
+/**
+ * Hot feed of writes to one collection, read from a Mongo change stream.
+ * Caches subscribe to it so a change made by any instance invalidates their entries.
+ * The stream needs a replica set; on a standalone server it keeps retrying with
+ * backoff and caches fall back to expiry.
+ *
+ * @param <T> document type of the collection
+ * @param <C> change event type handed to subscribers
+ */
+@Slf4j
+public abstract class ChangeFeed<T, C> {
+
+    private static final Duration MIN_BACKOFF = Duration.ofSeconds(1);
+    private static final Duration MAX_BACKOFF = Duration.ofMinutes(1);
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final Class<T> documentType;
+
+    private final Sinks.Many<C> changes = Sinks.many().multicast().directBestEffort();
+    private Disposable subscription;
+
+    protected ChangeFeed(ReactiveMongoTemplate mongoTemplate, Class<T> documentType) {
+        this.mongoTemplate = mongoTemplate;
+        this.documentType = documentType;
+    }
+
+    /**
+     * Build the change event for a document id; {@code document} is the document after the write, or null for deletes
+     */
+    protected abstract C toChange(String id, T document);
+
+    public Flux<C> changes() {
+        return changes.asFlux();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        ChangeStreamOptions options = ChangeStreamOptions.builder()
+                .returnFullDocumentOnUpdate()
+                .build();
+        String collection = mongoTemplate.getCollectionName(documentType);
+
+        subscription = mongoTemplate
+                .changeStream(collection, options, documentType)
+                .mapNotNull(this::toChange)
+                .doOnError(error -> log.warn("Change stream on {} interrupted: {}", collection, error.getMessage()))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, MIN_BACKOFF).maxBackoff(MAX_BACKOFF))
+                .subscribe(changes::tryEmitNext);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    /**
+     * @return the change, or null for events that do not concern a single document (drop, invalidate)
+     */
+    private C toChange(ChangeStreamEvent<T> event) {
+        BsonDocument documentKey = event.getRaw() != null ? event.getRaw().getDocumentKey() : null;
+        if (documentKey == null || !documentKey.containsKey("_id")) {
+            return null;
+        }
+
+        BsonValue id = documentKey.get("_id");
+        String documentId = id.isObjectId() ? id.asObjectId().getValue().toHexString() : id.asString().getValue();
+        return toChange(documentId, event.getBody());
+    }
+}
@@ -0,0 +1,141 @@
+package com.cache;
+
+import com.dto.response.CacheStatsResponse;
+import com.model.DailyFare;
+import com.model.Flight;
+import com.repository.FlightRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded LRU cache of fare calendars keyed by route, date window and passenger count.
+ * Entries expire after {@code ttl-seconds} and are dropped as soon as the
+ * {@link FlightChangeFeed} reports a change to a flight on the route inside the window.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FareCalendarCache {
+
+    private final FlightRepository flightRepository;
+    private final FlightChangeFeed flightChangeFeed;
+
+    @Value("${app.search.fare-calendar.max-entries:2000}")
+    private int maxEntries;
+
+    @Value("${app.search.fare-calendar.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    // Access-ordered for LRU eviction; every access is synchronized on the map
+    private final Map<CalendarKey, Entry> entries = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<CalendarKey, Entry> eldest) {
+            if (size() > maxEntries) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+
+    private record CalendarKey(String origin, String destination, LocalDate from, LocalDate to, int minSeats) {
+
+        private boolean covers(Flight flight) {
+            LocalDate day = flight.getDepartureDateTime().toLocalDate();
+            return origin.equals(flight.getOrigin()) && destination.equals(flight.getDestination())
+                    && !day.isBefore(from) && !day.isAfter(to);
+        }
+    }
+
+    private record Entry(Mono<List<DailyFare>> value, long loadedAt) {
+    }
+
+    @PostConstruct
+    public void subscribeToChanges() {
+        flightChangeFeed.changes().subscribe(change -> invalidate(change.flight()));
+    }
+
+    /**
+     * Days in [from, to] on which the route has flights with at least {@code minSeats} seats left
+     */
+    public Mono<List<DailyFare>> get(String origin, String destination, LocalDate from, LocalDate to, int minSeats) {
+        CalendarKey key = new CalendarKey(origin, destination, from, to, minSeats);
+        long now = System.nanoTime();
+
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && now - entry.loadedAt() <= Duration.ofSeconds(ttlSeconds).toNanos()) {
+                hits.increment();
+                return entry.value();
+            }
+
+            misses.increment();
+            Entry loading = new Entry(load(key), now);
+            entries.put(key, loading);
+            return loading.value();
+        }
+    }
+
+    public CacheStatsResponse stats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+
+        return CacheStatsResponse.builder()
+                .name("fare-calendar")
+                .size(size)
+                .maxSize(maxEntries)
+                .hits(hits.sum())
+                .misses(misses.sum())
+                .evictions(evictions.sum())
+                .invalidations(invalidations.sum())
+                .loadFailures(loadFailures.sum())
+                .build();
+    }
+
+    private Mono<List<DailyFare>> load(CalendarKey key) {
+        return flightRepository.aggregateDailyFares(
+                        key.origin(),
+                        key.destination(),
+                        key.from().atStartOfDay(),
+                        key.to().plusDays(1).atStartOfDay(),
+                        key.minSeats())
+                .collectList()
+                .doOnError(error -> loadFailures.increment())
+                // A failed load is not kept; the next subscriber to the entry runs the aggregation again
+                .cache(days -> Duration.ofSeconds(ttlSeconds), error -> Duration.ZERO, () -> Duration.ZERO);
+    }
+
+    /**
+     * Drop the calendars that include the flight; deletes carry no route, so they drop everything
+     */
+    private void invalidate(Flight flight) {
+        synchronized (entries) {
+            int before = entries.size();
+            if (flight == null || flight.getDepartureDateTime() == null) {
+                entries.clear();
+            } else {
+                entries.keySet().removeIf(key -> key.covers(flight));
+            }
+            invalidations.add(before - entries.size());
+        }
+    }
+}
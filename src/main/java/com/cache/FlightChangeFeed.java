@@ -0,0 +1,27 @@
+package com.cache;
+
+import com.model.Flight;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes to the flights collection made by any instance: inventory updates, bookings, cancellations.
+ */
+@Component
+public class FlightChangeFeed extends ChangeFeed<Flight, FlightChangeFeed.FlightChange> {
+
+    /**
+     * A write to one flight; {@code flight} is the document after the write, or null for deletes
+     */
+    public record FlightChange(String flightId, Flight flight) {
+    }
+
+    public FlightChangeFeed(ReactiveMongoTemplate mongoTemplate) {
+        super(mongoTemplate, Flight.class);
+    }
+
+    @Override
+    protected FlightChange toChange(String id, Flight flight) {
+        return new FlightChange(id, flight);
+    }
+}
@@ -0,0 +1,281 @@
+package com.cache;
+
+import com.dto.response.CacheStatsResponse;
+import com.model.Flight;
+import com.model.FlightSummary;
+import com.repository.FlightRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded LRU cache of flight search results keyed by route and departure date.
+ * Entries hold the summaries of every flight on the route that day with seats left;
+ * the passenger count is applied by the caller, so all searches for a route share one entry.
+ * <p>
+ * An entry is fresh for {@code fresh-seconds} after loading and until a change to one of
+ * its flights arrives from the {@link FlightChangeFeed}. After that it is stale: it is still
+ * served, for up to {@code stale-seconds}, while one background reload replaces it.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FlightSearchCache {
+
+    private final FlightRepository flightRepository;
+    private final FlightChangeFeed flightChangeFeed;
+
+    @Value("${app.search.cache.max-entries:10000}")
+    private int maxEntries;
+
+    @Value("${app.search.cache.fresh-seconds:30}")
+    private long freshSeconds;
+
+    @Value("${app.search.cache.stale-seconds:300}")
+    private long staleSeconds;
+
+    // Access-ordered for LRU eviction; every access is synchronized on the map
+    private final Map<SearchKey, Entry> entries = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<SearchKey, Entry> eldest) {
+            if (size() > maxEntries) {
+                evictions.increment();
+                retire(eldest.getKey(), eldest.getValue());
+                return true;
+            }
+            return false;
+        }
+    };
+
+    // flightId -> keys whose cached results contain the flight, used to route change events;
+    // only holds keys that are in entries, and is changed under the same lock
+    private final Map<String, Set<SearchKey>> keysByFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+
+    private record SearchKey(String origin, String destination, LocalDate date) {
+    }
+
+    @PostConstruct
+    public void subscribeToChanges() {
+        flightChangeFeed.changes().subscribe(change -> {
+            invalidateKeysOf(change.flightId());
+            if (change.flight() != null) {
+                invalidateRoute(change.flight());
+            }
+        });
+    }
+
+    /**
+     * Summaries of the flights on the route that day that have at least one seat left
+     */
+    public Mono<List<FlightSummary>> get(String origin, String destination, LocalDate date) {
+        return lookup(new SearchKey(origin, destination, date)).value;
+    }
+
+    /**
+     * The same summaries, emitted as they are read on a miss instead of once all are loaded.
+     * The query is shared with the cache entry, which keeps the complete result
+     */
+    public Flux<FlightSummary> stream(String origin, String destination, LocalDate date) {
+        return lookup(new SearchKey(origin, destination, date)).summaries;
+    }
+
+    private Entry lookup(SearchKey key) {
+        long now = System.nanoTime();
+        Entry entry;
+
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry == null || now - entry.loadedAt > Duration.ofSeconds(staleSeconds).toNanos()) {
+                misses.increment();
+                if (entry != null) {
+                    retire(key, entry);
+                }
+                entry = new Entry(now);
+                load(key, entry);
+                entries.put(key, entry);
+                return entry;
+            }
+        }
+
+        if (!entry.invalidated && now - entry.loadedAt <= Duration.ofSeconds(freshSeconds).toNanos()) {
+            hits.increment();
+        } else {
+            staleHits.increment();
+            refresh(key, entry);
+        }
+        return entry;
+    }
+
+    /**
+     * Mark the entry for the flight's route and date stale, for writes made by this instance
+     */
+    public void invalidateRoute(Flight flight) {
+        if (flight.getOrigin() == null || flight.getDestination() == null || flight.getDepartureDateTime() == null) {
+            return;
+        }
+        invalidate(new SearchKey(flight.getOrigin(), flight.getDestination(),
+                flight.getDepartureDateTime().toLocalDate()));
+    }
+
+    public CacheStatsResponse stats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+
+        return CacheStatsResponse.builder()
+                .name("flight-search")
+                .size(size)
+                .maxSize(maxEntries)
+                .hits(hits.sum())
+                .staleHits(staleHits.sum())
+                .misses(misses.sum())
+                .evictions(evictions.sum())
+                .invalidations(invalidations.sum())
+                .loadFailures(loadFailures.sum())
+                .build();
+    }
+
+    /**
+     * Start filling a new entry: one query, replayed to streaming callers as it runs and
+     * collected for the entry once it completes
+     */
+    private void load(SearchKey key, Entry entry) {
+        entry.summaries = query(key)
+                .doOnError(error -> {
+                    loadFailures.increment();
+                    // Do not keep a failed load around; the next search retries
+                    synchronized (entries) {
+                        if (entries.remove(key, entry)) {
+                            retire(key, entry);
+                        }
+                    }
+                })
+                .cache();
+        entry.value = entry.summaries
+                .collectList()
+                .doOnNext(summaries -> index(key, entry, summaries))
+                .cache();
+    }
+
+    private void refresh(SearchKey key, Entry entry) {
+        if (!entry.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+
+        // Cleared before querying so a change that lands during the reload marks it stale again
+        entry.invalidated = false;
+
+        query(key).collectList().doOnNext(summaries -> index(key, entry, summaries)).subscribe(
+                summaries -> {
+                    entry.value = Mono.just(summaries);
+                    entry.summaries = Flux.fromIterable(summaries);
+                    entry.loadedAt = System.nanoTime();
+                    entry.refreshing.set(false);
+                },
+                error -> {
+                    loadFailures.increment();
+                    log.warn("Refreshing search results for {} failed: {}", key, error.getMessage());
+                    entry.invalidated = true;
+                    entry.refreshing.set(false);
+                });
+    }
+
+    private Flux<FlightSummary> query(SearchKey key) {
+        return flightRepository.searchSummaries(
+                key.origin(),
+                key.destination(),
+                key.date().atStartOfDay(),
+                key.date().atTime(23, 59, 59),
+                1
+        );
+    }
+
+    /**
+     * Route change events for the loaded flights to the entry, unless it left the cache meanwhile
+     */
+    private void index(SearchKey key, Entry entry, List<FlightSummary> summaries) {
+        synchronized (entries) {
+            if (entry.retired) {
+                return;
+            }
+            for (FlightSummary summary : summaries) {
+                if (entry.flightIds.add(summary.getId())) {
+                    keysByFlight.computeIfAbsent(summary.getId(), id -> ConcurrentHashMap.newKeySet()).add(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * Drop an entry leaving the cache from the reverse index; called with the entries lock held
+     */
+    private void retire(SearchKey key, Entry entry) {
+        entry.retired = true;
+        for (String flightId : entry.flightIds) {
+            keysByFlight.computeIfPresent(flightId, (id, keys) -> {
+                keys.remove(key);
+                return keys.isEmpty() ? null : keys;
+            });
+        }
+        entry.flightIds.clear();
+    }
+
+    private void invalidateKeysOf(String flightId) {
+        // Kept indexed: the entries still contain the flight and will reload it
+        Set<SearchKey> keys = keysByFlight.get(flightId);
+        if (keys != null) {
+            keys.forEach(this::invalidate);
+        }
+    }
+
+    private void invalidate(SearchKey key) {
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+
+        if (entry != null) {
+            entry.invalidated = true;
+            invalidations.increment();
+        }
+    }
+
+    private static final class Entry {
+        private volatile Flux<FlightSummary> summaries;
+        private volatile Mono<List<FlightSummary>> value;
+        private volatile long loadedAt;
+        private volatile boolean invalidated;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        // Guarded by the entries lock
+        private final Set<String> flightIds = new HashSet<>();
+        private boolean retired;
+
+        private Entry(long loadedAt) {
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.cache;
+
+import com.model.Airline;
+import com.model.Airport;
+import com.repository.AirlineRepository;
+import com.repository.AirportRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * All airlines and airports, held in memory as one immutable snapshot that is replaced
+ * atomically. Loaded at startup and reloaded periodically; admin writes and the change
+ * feeds patch it in between, so lookups never touch Mongo once it is loaded.
+ * Returned documents are shared and must be treated as read-only.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReferenceDataCache {
+
+    private final AirlineRepository airlineRepository;
+    private final AirportRepository airportRepository;
+    private final AirlineChangeFeed airlineChangeFeed;
+    private final AirportChangeFeed airportChangeFeed;
+
+    @Value("${app.reference-data.refresh-seconds:300}")
+    private long refreshSeconds;
+
+    // Null until the first load; lookups read Mongo until then
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+
+    // Patches applied while a reload runs, replayed onto its result; null when no reload runs
+    private List<UnaryOperator<Snapshot>> patchesDuringReload;
+    private final Object patchLock = new Object();
+
+    private Disposable refreshes;
+
+    private record Snapshot(Map<String, Airline> airlinesByCode, List<Airline> airlines,
+                            Map<String, Airport> airportsByCode, List<Airport> airports) {
+
+        static Snapshot of(Map<String, Airline> airlinesByCode, Map<String, Airport> airportsByCode) {
+            return new Snapshot(
+                    Map.copyOf(airlinesByCode),
+                    airlinesByCode.values().stream().sorted(Comparator.comparing(Airline::getAirlineCode)).toList(),
+                    Map.copyOf(airportsByCode),
+                    airportsByCode.values().stream().sorted(Comparator.comparing(Airport::getIataCode)).toList());
+        }
+
+        Snapshot withAirline(String id, Airline airline) {
+            return of(replace(airlinesByCode, id, Airline::getId, airline, Airline::getAirlineCode), airportsByCode);
+        }
+
+        Snapshot withAirport(String id, Airport airport) {
+            return of(airlinesByCode, replace(airportsByCode, id, Airport::getId, airport, Airport::getIataCode));
+        }
+
+        /**
+         * Copy of the map without the document with the given id, plus the new version if there is one
+         */
+        private static <T> Map<String, T> replace(Map<String, T> byCode, String id, Function<T, String> idOf,
+                                                  T document, Function<T, String> codeOf) {
+            Map<String, T> copy = new HashMap<>(byCode);
+            copy.values().removeIf(existing -> id.equals(idOf.apply(existing)));
+            if (document != null) {
+                copy.put(codeOf.apply(document), document);
+            }
+            return copy;
+        }
+    }
+
+    @PostConstruct
+    public void subscribeToChanges() {
+        airlineChangeFeed.changes()
+                .subscribe(change -> patch(current -> current.withAirline(change.airlineId(), change.airline())));
+        airportChangeFeed.changes()
+                .subscribe(change -> patch(current -> current.withAirport(change.airportId(), change.airport())));
+    }
+
+    /**
+     * Load at startup, then reload now and then to catch anything the change feeds missed
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        refreshes = Flux.interval(Duration.ZERO, Duration.ofSeconds(refreshSeconds))
+                .onBackpressureDrop()
+                .concatMap(tick -> reload()
+                        .onErrorResume(error -> {
+                            log.warn("Reference data reload failed: {}", error.getMessage());
+                            return Mono.empty();
+                        }), 0)
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (refreshes != null) {
+            refreshes.dispose();
+        }
+    }
+
+    public Mono<Airline> findAirline(String airlineCode) {
+        Snapshot current = snapshot.get();
+        return current != null
+                ? Mono.justOrEmpty(current.airlinesByCode().get(airlineCode))
+                : airlineRepository.findByAirlineCode(airlineCode);
+    }
+
+    public Mono<Airport> findAirport(String iataCode) {
+        Snapshot current = snapshot.get();
+        return current != null
+                ? Mono.justOrEmpty(current.airportsByCode().get(iataCode))
+                : airportRepository.findByIataCode(iataCode);
+    }
+
+    /**
+     * @return every airline, ordered by code
+     */
+    public Mono<List<Airline>> findAllAirlines() {
+        Snapshot current = snapshot.get();
+        return current != null
+                ? Mono.just(current.airlines())
+                : airlineRepository.findAll().sort(Comparator.comparing(Airline::getAirlineCode)).collectList();
+    }
+
+    /**
+     * @return every airport, ordered by IATA code
+     */
+    public Mono<List<Airport>> findAllAirports() {
+        Snapshot current = snapshot.get();
+        return current != null
+                ? Mono.just(current.airports())
+                : airportRepository.findAll().sort(Comparator.comparing(Airport::getIataCode)).collectList();
+    }
+
+    /**
+     * Apply an airline this instance just saved, without waiting for the change feed
+     */
+    public void put(Airline airline) {
+        patch(current -> current.withAirline(airline.getId(), airline));
+    }
+
+    /**
+     * Apply an airport this instance just saved, without waiting for the change feed
+     */
+    public void put(Airport airport) {
+        patch(current -> current.withAirport(airport.getId(), airport));
+    }
+
+    /**
+     * Apply a write to the current snapshot, and remember it if a reload is running, since
+     * the reload may have read the collections before the write
+     */
+    private void patch(UnaryOperator<Snapshot> change) {
+        synchronized (patchLock) {
+            snapshot.updateAndGet(current -> current != null ? change.apply(current) : null);
+            if (patchesDuringReload != null) {
+                patchesDuringReload.add(change);
+            }
+        }
+    }
+
+    private Mono<Void> reload() {
+        return Mono.defer(() -> {
+                    synchronized (patchLock) {
+                        patchesDuringReload = new ArrayList<>();
+                    }
+                    return Mono.zip(
+                            airlineRepository.findAll().collectMap(Airline::getAirlineCode),
+                            airportRepository.findAll().collectMap(Airport::getIataCode));
+                })
+                .map(tuple -> Snapshot.of(tuple.getT1(), tuple.getT2()))
+                .doOnNext(loaded -> {
+                    // Swapped in with every write made since the reload started replayed on top
+                    Snapshot merged = loaded;
+                    synchronized (patchLock) {
+                        for (UnaryOperator<Snapshot> change : patchesDuringReload) {
+                            merged = change.apply(merged);
+                        }
+                        snapshot.set(merged);
+                        patchesDuringReload = null;
+                    }
+                    log.debug("Reference data loaded: {} airlines, {} airports",
+                            merged.airlines().size(), merged.airports().size());
+                })
+                .doFinally(signal -> {
+                    synchronized (patchLock) {
+                        patchesDuringReload = null;
+                    }
+                })
+                .then();
+    }
+}
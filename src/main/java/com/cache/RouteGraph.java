@@ -0,0 +1,372 @@
+package com.cache;
+
+import com.model.FlightSummary;
+import com.repository.FlightRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-memory, time-indexed graph of scheduled flights used to build connecting itineraries.
+ * Legs are stored as primitive columns grouped by origin airport and sorted by departure,
+ * so the departures from a hub inside a connection window are found with a binary search
+ * instead of a Mongo query per hub. Only the legs of the itineraries returned are read
+ * from Mongo, so the results always carry current seats and fares.
+ * <p>
+ * Seat counts are updated in place from the {@link FlightChangeFeed}; any other change
+ * (new, removed or rescheduled flights) marks the graph dirty and it is rebuilt from the
+ * flights collection on the next refresh tick. Without change streams (a standalone
+ * mongod) nothing marks it dirty, so it is also rebuilt once it reaches the maximum staleness.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RouteGraph {
+
+    private static final int MAX_CANDIDATES = 1000;
+
+    private final FlightRepository flightRepository;
+    private final FlightChangeFeed flightChangeFeed;
+
+    @Value("${app.search.connections.refresh-seconds:60}")
+    private long refreshSeconds;
+
+    @Value("${app.search.connections.max-staleness-seconds:300}")
+    private long maxStalenessSeconds;
+
+    @Value("${app.search.connections.min-connection-minutes:45}")
+    private int minConnectionMinutes;
+
+    @Value("${app.search.connections.max-connection-minutes:360}")
+    private int maxConnectionMinutes;
+
+    private volatile Snapshot snapshot = Snapshot.build(List.of());
+    private volatile long builtAtMillis;
+    private final AtomicBoolean dirty = new AtomicBoolean(true);
+    private Disposable changeSubscription;
+    private Disposable refresher;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        changeSubscription = flightChangeFeed.changes().subscribe(this::applyChange);
+
+        refresher = Flux.interval(Duration.ZERO, Duration.ofSeconds(refreshSeconds))
+                .onBackpressureDrop()
+                .filter(tick -> dirty.getAndSet(false)
+                        || System.currentTimeMillis() - builtAtMillis >= Duration.ofSeconds(maxStalenessSeconds).toMillis())
+                .concatMap(tick -> rebuild()
+                        .onErrorResume(error -> {
+                            dirty.set(true);
+                            log.warn("Rebuilding route graph failed: {}", error.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (changeSubscription != null) {
+            changeSubscription.dispose();
+        }
+        if (refresher != null) {
+            refresher.dispose();
+        }
+    }
+
+    /**
+     * Itineraries from origin to destination leaving on the given date with at most {@code maxStops}
+     * connections, each leg having seats for all passengers; shortest elapsed time first
+     * @return each itinerary as its legs in travel order
+     */
+    public Mono<List<List<FlightSummary>>> findItineraries(String origin, String destination, LocalDate date,
+                                                           int passengers, int maxStops, int limit) {
+        return Mono.defer(() -> {
+            List<String[]> paths = findPaths(snapshot, origin, destination, date, passengers, maxStops, limit);
+            if (paths.isEmpty()) {
+                return Mono.just(List.<List<FlightSummary>>of());
+            }
+
+            Set<String> flightIds = new HashSet<>();
+            paths.forEach(path -> flightIds.addAll(Arrays.asList(path)));
+
+            // Legs sold out or removed since the graph was updated are dropped here
+            return flightRepository.findSummariesByIds(flightIds)
+                    .filter(flight -> flight.getAvailableSeats() != null && flight.getAvailableSeats() >= passengers)
+                    .collectMap(FlightSummary::getId)
+                    .map(flights -> paths.stream()
+                            .filter(path -> Arrays.stream(path).allMatch(flights::containsKey))
+                            .map(path -> Arrays.stream(path).map(flights::get).toList())
+                            .toList());
+        });
+    }
+
+    public int legCount() {
+        return snapshot.flightIds.length;
+    }
+
+    /**
+     * @return the best itineraries as flight ids in travel order
+     */
+    private List<String[]> findPaths(Snapshot graph, String origin, String destination, LocalDate date,
+                                     int passengers, int maxStops, int limit) {
+        Integer from = graph.airportIds.get(origin);
+        Integer to = graph.airportIds.get(destination);
+        if (from == null || to == null) {
+            return List.of();
+        }
+
+        Search search = new Search(graph, from, to, passengers, maxStops, minConnectionMinutes, maxConnectionMinutes);
+
+        int dayStart = toMinutes(date.atStartOfDay());
+        int dayEnd = toMinutes(date.plusDays(1).atStartOfDay());
+        for (int leg = graph.firstDepartureAtOrAfter(from, dayStart);
+             leg < graph.firstLeg[from + 1] && graph.departure[leg] < dayEnd;
+             leg++) {
+            search.extend(leg, 0);
+        }
+
+        return search.found.stream()
+                .sorted(Comparator.<int[]>comparingInt(path -> graph.arrival[path[path.length - 1]] - graph.departure[path[0]])
+                        .thenComparingDouble(path -> Arrays.stream(path).mapToDouble(leg -> graph.fare[leg]).sum()))
+                .limit(limit)
+                .map(path -> Arrays.stream(path).mapToObj(leg -> graph.flightIds[leg]).toArray(String[]::new))
+                .toList();
+    }
+
+    private Mono<Void> rebuild() {
+        long startedAt = System.currentTimeMillis();
+        return flightRepository.findSummariesDepartingAfter(LocalDate.now().atStartOfDay())
+                .collectList()
+                .map(Snapshot::build)
+                .doOnNext(graph -> {
+                    snapshot = graph;
+                    builtAtMillis = startedAt;
+                    log.info("Route graph rebuilt with {} legs across {} airports",
+                            graph.flightIds.length, graph.airportIds.size());
+                })
+                .then();
+    }
+
+    private void applyChange(FlightChangeFeed.FlightChange change) {
+        Snapshot graph = snapshot;
+        int leg = graph.legOf(change.flightId());
+
+        if (change.flight() != null && leg >= 0 && graph.hasSameSchedule(leg, change.flight().getOrigin(),
+                change.flight().getDestination(), change.flight().getDepartureDateTime(), change.flight().getArrivalDateTime())) {
+            graph.seats[leg] = change.flight().getAvailableSeats();
+        } else {
+            dirty.set(true);
+        }
+    }
+
+    /**
+     * Minutes since the epoch of the local time; fits an int for millennia
+     */
+    private static int toMinutes(LocalDateTime dateTime) {
+        return (int) (dateTime.toEpochSecond(ZoneOffset.UTC) / 60);
+    }
+
+    /**
+     * Depth-first walk over connections, collecting paths of leg indexes that reach the destination
+     */
+    private static final class Search {
+        private final Snapshot graph;
+        private final int origin;
+        private final int destination;
+        private final int passengers;
+        private final int maxStops;
+        private final int minConnectionMinutes;
+        private final int maxConnectionMinutes;
+        private final int[] path;
+        private final List<int[]> found = new ArrayList<>();
+
+        private Search(Snapshot graph, int origin, int destination, int passengers, int maxStops,
+                       int minConnectionMinutes, int maxConnectionMinutes) {
+            this.graph = graph;
+            this.origin = origin;
+            this.destination = destination;
+            this.passengers = passengers;
+            this.maxStops = maxStops;
+            this.minConnectionMinutes = minConnectionMinutes;
+            this.maxConnectionMinutes = maxConnectionMinutes;
+            this.path = new int[maxStops + 1];
+        }
+
+        private void extend(int leg, int depth) {
+            if (graph.seats[leg] < passengers || found.size() >= MAX_CANDIDATES) {
+                return;
+            }
+
+            path[depth] = leg;
+            int hub = graph.destination[leg];
+            if (hub == destination) {
+                found.add(Arrays.copyOf(path, depth + 1));
+                return;
+            }
+            if (depth == maxStops || hub == origin || visitedBefore(hub, depth)) {
+                return;
+            }
+
+            int earliest = graph.arrival[leg] + minConnectionMinutes;
+            int latest = graph.arrival[leg] + maxConnectionMinutes;
+            for (int next = graph.firstDepartureAtOrAfter(hub, earliest);
+                 next < graph.firstLeg[hub + 1] && graph.departure[next] <= latest;
+                 next++) {
+                extend(next, depth + 1);
+            }
+        }
+
+        private boolean visitedBefore(int airport, int depth) {
+            for (int i = 0; i < depth; i++) {
+                if (graph.destination[path[i]] == airport) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Immutable graph structure built from one load of the flights collection; only seat counts change.
+     * Every per-leg attribute is a primitive column indexed by leg; the flight ids are only kept to
+     * name the legs of a result and to find a leg from a change event.
+     */
+    private static final class Snapshot {
+        private final Map<String, Integer> airportIds;
+        private final int[] firstLeg;     // per origin airport: index of its first leg, plus a trailing end marker
+        private final int[] origin;       // per leg: origin airport id
+        private final int[] destination;  // per leg: destination airport id
+        private final int[] departure;    // per leg: departure time, epoch minutes of the local time
+        private final int[] arrival;      // per leg: arrival time, epoch minutes of the local time
+        private final int[] seats;        // per leg: available seats, updated in place
+        private final double[] fare;      // per leg: base fare, for ordering equally long itineraries
+        private final String[] flightIds; // per leg: flight id
+        private final String[] sortedIds; // flight ids in sort order, for binary search
+        private final int[] legOfSortedId;
+
+        private Snapshot(Map<String, Integer> airportIds, int[] firstLeg, int[] origin, int[] destination,
+                         int[] departure, int[] arrival, int[] seats, double[] fare, String[] flightIds) {
+            this.airportIds = airportIds;
+            this.firstLeg = firstLeg;
+            this.origin = origin;
+            this.destination = destination;
+            this.departure = departure;
+            this.arrival = arrival;
+            this.seats = seats;
+            this.fare = fare;
+            this.flightIds = flightIds;
+
+            Integer[] order = new Integer[flightIds.length];
+            Arrays.setAll(order, leg -> leg);
+            Arrays.sort(order, Comparator.comparing(leg -> flightIds[leg]));
+            this.sortedIds = new String[flightIds.length];
+            this.legOfSortedId = new int[flightIds.length];
+            for (int i = 0; i < order.length; i++) {
+                sortedIds[i] = flightIds[order[i]];
+                legOfSortedId[i] = order[i];
+            }
+        }
+
+        private static Snapshot build(List<FlightSummary> loaded) {
+            List<FlightSummary> flights = loaded.stream()
+                    .filter(flight -> flight.getOrigin() != null && flight.getDestination() != null
+                            && flight.getDepartureDateTime() != null && flight.getArrivalDateTime() != null
+                            && flight.getAvailableSeats() != null)
+                    .toList();
+
+            Map<String, Integer> airportIds = new HashMap<>();
+            flights.forEach(flight -> {
+                airportIds.putIfAbsent(flight.getOrigin(), airportIds.size());
+                airportIds.putIfAbsent(flight.getDestination(), airportIds.size());
+            });
+
+            List<FlightSummary> legs = flights.stream()
+                    .sorted(Comparator.<FlightSummary>comparingInt(flight -> airportIds.get(flight.getOrigin()))
+                            .thenComparing(FlightSummary::getDepartureDateTime))
+                    .toList();
+
+            int count = legs.size();
+            int[] firstLeg = new int[airportIds.size() + 1];
+            int[] origin = new int[count];
+            int[] destination = new int[count];
+            int[] departure = new int[count];
+            int[] arrival = new int[count];
+            int[] seats = new int[count];
+            double[] fare = new double[count];
+            String[] flightIds = new String[count];
+
+            for (int leg = 0; leg < count; leg++) {
+                FlightSummary flight = legs.get(leg);
+                origin[leg] = airportIds.get(flight.getOrigin());
+                firstLeg[origin[leg] + 1]++;
+                destination[leg] = airportIds.get(flight.getDestination());
+                departure[leg] = toMinutes(flight.getDepartureDateTime());
+                arrival[leg] = toMinutes(flight.getArrivalDateTime());
+                seats[leg] = flight.getAvailableSeats();
+                fare[leg] = flight.getBaseFare() != null ? flight.getBaseFare() : 0.0;
+                flightIds[leg] = flight.getId();
+            }
+            for (int airport = 0; airport < airportIds.size(); airport++) {
+                firstLeg[airport + 1] += firstLeg[airport];
+            }
+
+            return new Snapshot(airportIds, firstLeg, origin, destination, departure, arrival, seats, fare, flightIds);
+        }
+
+        /**
+         * Index of the first leg from the airport departing at or after the given time
+         */
+        private int firstDepartureAtOrAfter(int airport, int time) {
+            int low = firstLeg[airport];
+            int high = firstLeg[airport + 1];
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (departure[mid] < time) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * @return the leg of the flight, or -1 if it is not in the graph
+         */
+        private int legOf(String flightId) {
+            int index = Arrays.binarySearch(sortedIds, flightId);
+            return index >= 0 ? legOfSortedId[index] : -1;
+        }
+
+        private boolean hasSameSchedule(int leg, String originCode, String destinationCode,
+                                        LocalDateTime departureTime, LocalDateTime arrivalTime) {
+            Integer originId = airportIds.get(originCode);
+            Integer destinationId = airportIds.get(destinationCode);
+            return originId != null && originId == origin[leg]
+                    && destinationId != null && destinationId == destination[leg]
+                    && departureTime != null && toMinutes(departureTime) == departure[leg]
+                    && arrivalTime != null && toMinutes(arrivalTime) == arrival[leg];
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.cache;
+
+import com.model.SeatHold;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory table of active seat holds, keyed by flight and seat number.
+ * Expiry is driven by a hashed timing wheel, so thousands of holds cost one
+ * timer thread and O(1) work per hold instead of periodic full scans.
+ */
+@Component
+@Slf4j
+public class SeatHoldTable {
+
+    private static final long TICK_MILLIS = 500;
+    private static final int WHEEL_SIZE = 1024;
+
+    // flightId -> (seatNumber -> holdId); mutated only inside compute() so each flight is updated atomically
+    private final Map<String, Map<String, String>> heldSeats = new ConcurrentHashMap<>();
+
+    // holdId -> active hold
+    private final Map<String, ActiveHold> holds = new ConcurrentHashMap<>();
+
+    private final HashedWheelTimer expiryWheel = new HashedWheelTimer(
+            new DefaultThreadFactory("seat-hold-expiry", true),
+            TICK_MILLIS, TimeUnit.MILLISECONDS, WHEEL_SIZE);
+
+    /**
+     * Claim every seat of the hold, or none of them
+     * @return seats already held by other holds; empty when the hold was registered
+     */
+    public List<String> tryHold(SeatHold hold) {
+        List<String> conflicts = new ArrayList<>();
+
+        heldSeats.compute(hold.getFlightId(), (flightId, seats) -> {
+            Map<String, String> table = seats != null ? seats : new ConcurrentHashMap<>();
+
+            for (String seatNumber : hold.getSeatNumbers()) {
+                String owner = table.get(seatNumber);
+                if (owner != null && !owner.equals(hold.getId())) {
+                    conflicts.add(seatNumber);
+                }
+            }
+
+            if (conflicts.isEmpty()) {
+                hold.getSeatNumbers().forEach(seatNumber -> table.put(seatNumber, hold.getId()));
+            }
+
+            return table.isEmpty() ? null : table;
+        });
+
+        if (conflicts.isEmpty()) {
+            ActiveHold active = new ActiveHold(hold);
+            holds.put(hold.getId(), active);
+            scheduleExpiry(active, hold.getExpiresAt());
+        }
+
+        return conflicts;
+    }
+
+    /**
+     * Look up an active hold
+     */
+    public Optional<SeatHold> find(String holdId) {
+        return Optional.ofNullable(holds.get(holdId)).map(ActiveHold::snapshot);
+    }
+
+    /**
+     * Move the expiry of an active hold
+     * @return the updated hold, or empty if it already expired or was released
+     */
+    public Optional<SeatHold> extend(String holdId, Instant expiresAt) {
+        ActiveHold active = holds.get(holdId);
+        if (active == null) {
+            return Optional.empty();
+        }
+
+        scheduleExpiry(active, expiresAt);
+        return Optional.of(active.snapshot());
+    }
+
+    /**
+     * Drop a hold and free its seats
+     * @return the released hold, or empty if it was not active
+     */
+    public Optional<SeatHold> release(String holdId) {
+        ActiveHold active = holds.remove(holdId);
+        if (active == null) {
+            return Optional.empty();
+        }
+
+        synchronized (active) {
+            if (active.timeout != null) {
+                active.timeout.cancel();
+            }
+        }
+
+        heldSeats.computeIfPresent(active.hold.getFlightId(), (flightId, table) -> {
+            active.hold.getSeatNumbers().forEach(seatNumber -> table.remove(seatNumber, holdId));
+            return table.isEmpty() ? null : table;
+        });
+
+        return Optional.of(active.snapshot());
+    }
+
+    /**
+     * Find which of the given seats are held by anyone other than the given hold
+     * @param exceptHoldId hold whose seats are not reported, may be null
+     */
+    public List<String> findHeldSeats(String flightId, Collection<String> seatNumbers, String exceptHoldId) {
+        Map<String, String> table = heldSeats.get(flightId);
+        if (table == null) {
+            return List.of();
+        }
+
+        return seatNumbers.stream()
+                .filter(seatNumber -> {
+                    String owner = table.get(seatNumber);
+                    return owner != null && !owner.equals(exceptHoldId);
+                })
+                .toList();
+    }
+
+    public int size() {
+        return holds.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        expiryWheel.stop();
+    }
+
+    private void scheduleExpiry(ActiveHold active, Instant expiresAt) {
+        long delayMillis = Math.max(0, Duration.between(Instant.now(), expiresAt).toMillis());
+
+        synchronized (active) {
+            if (active.timeout != null) {
+                active.timeout.cancel();
+            }
+            active.expiresAt = expiresAt;
+            active.timeout = expiryWheel.newTimeout(
+                    timeout -> expire(active.hold.getId(), expiresAt),
+                    delayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void expire(String holdId, Instant expectedExpiry) {
+        ActiveHold active = holds.get(holdId);
+
+        // Ignore timeouts that belong to an expiry which has since been extended
+        if (active != null && expectedExpiry.equals(active.expiresAt)) {
+            release(holdId);
+            log.debug("Seat hold {} expired on flight {}", holdId, active.hold.getFlightId());
+        }
+    }
+
+    private static final class ActiveHold {
+        private final SeatHold hold;
+        private volatile Instant expiresAt;
+        private Timeout timeout;
+
+        private ActiveHold(SeatHold hold) {
+            this.hold = hold;
+            this.expiresAt = hold.getExpiresAt();
+        }
+
+        private SeatHold snapshot() {
+            return SeatHold.builder()
+                    .id(hold.getId())
+                    .flightId(hold.getFlightId())
+                    .seatNumbers(List.copyOf(hold.getSeatNumbers()))
+                    .contactEmail(hold.getContactEmail())
+                    .createdAt(hold.getCreatedAt())
+                    .expiresAt(expiresAt)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.cache;
+
+import com.config.SeatLayoutProperties;
+import com.model.CabinLayout;
+import com.model.Flight;
+import com.model.SeatLayout;
+import com.repository.FlightRepository;
+import com.util.SeatGenerator;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shared, lazily built seat layouts keyed by configuration and seat count.
+ * Layouts are derived from SeatGenerator and the configured cabins, so they never need
+ * to be stored per flight; a layout key is built once and then serves every flight using it.
+ */
+@Component
+@RequiredArgsConstructor
+public class SeatLayoutCatalogue {
+
+    private static final String STANDARD_CONFIGURATION = "STD";
+
+    private final FlightRepository flightRepository;
+    private final SeatLayoutProperties seatLayoutProperties;
+
+    private final Map<String, SeatLayout> layouts = new ConcurrentHashMap<>();
+
+    // A flight's layout never changes after creation, so its key can be remembered;
+    // access-ordered for LRU eviction, every access is synchronized on the map
+    private final Map<String, String> layoutKeysByFlight = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+            return size() > seatLayoutProperties.getFlightKeysMaxEntries();
+        }
+    };
+
+    /**
+     * Fail at startup rather than on the first flight using a broken configuration
+     */
+    @PostConstruct
+    public void validateConfigurations() {
+        seatLayoutProperties.getConfigurations().forEach((name, cabins) -> {
+            try {
+                SeatGenerator.validateCabins(cabins);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalStateException("Invalid seat configuration " + name + ": " + e.getMessage(), e);
+            }
+        });
+
+        if (!hasConfiguration(seatLayoutProperties.getDefaultConfiguration())) {
+            throw new IllegalStateException(
+                    "Unknown default seat configuration: " + seatLayoutProperties.getDefaultConfiguration());
+        }
+    }
+
+    public boolean hasConfiguration(String configuration) {
+        return STANDARD_CONFIGURATION.equals(configuration)
+                || seatLayoutProperties.getConfigurations().containsKey(configuration);
+    }
+
+    /**
+     * Layout key stored on flights with the given number of seats in the default configuration
+     */
+    public String keyFor(int totalSeats) {
+        return keyFor(seatLayoutProperties.getDefaultConfiguration(), totalSeats);
+    }
+
+    public String keyFor(String configuration, int totalSeats) {
+        return configuration + "-" + totalSeats;
+    }
+
+    public SeatLayout get(String layoutKey) {
+        return layouts.computeIfAbsent(layoutKey, this::buildLayout);
+    }
+
+    public SeatLayout forSeatCount(int totalSeats) {
+        return get(keyFor(totalSeats));
+    }
+
+    /**
+     * Layout of a flight written before layout keys existed; those always had the standard
+     * cabins, whatever the default configuration is now
+     */
+    public SeatLayout forLegacyFlight(int totalSeats) {
+        return get(keyFor(STANDARD_CONFIGURATION, totalSeats));
+    }
+
+    /**
+     * @param configuration configuration name, or null for the default one
+     */
+    public SeatLayout forConfiguration(String configuration, int totalSeats) {
+        return configuration != null ? get(keyFor(configuration, totalSeats)) : forSeatCount(totalSeats);
+    }
+
+    public SeatLayout forFlight(Flight flight) {
+        return flight.getSeatLayoutKey() != null
+                ? get(flight.getSeatLayoutKey())
+                : forLegacyFlight(flight.getTotalSeats());
+    }
+
+    /**
+     * Layout of a flight that has not been loaded, reading only its layout fields on first use
+     * @return the layout, or empty if the flight does not exist
+     */
+    public Mono<SeatLayout> forFlightId(String flightId) {
+        String layoutKey;
+        synchronized (layoutKeysByFlight) {
+            layoutKey = layoutKeysByFlight.get(flightId);
+        }
+        if (layoutKey != null) {
+            return Mono.just(get(layoutKey));
+        }
+
+        return flightRepository.findSeatLayoutFields(flightId)
+                .map(flight -> {
+                    SeatLayout layout = forFlight(flight);
+                    synchronized (layoutKeysByFlight) {
+                        layoutKeysByFlight.put(flightId, layout.getKey());
+                    }
+                    return layout;
+                });
+    }
+
+    private SeatLayout buildLayout(String layoutKey) {
+        int separator = layoutKey.lastIndexOf('-');
+        String configuration = layoutKey.substring(0, separator);
+        int totalSeats = Integer.parseInt(layoutKey.substring(separator + 1));
+
+        return SeatLayout.of(layoutKey, SeatGenerator.generateSeats(cabinsOf(configuration), totalSeats));
+    }
+
+    /**
+     * Configured cabins; STD falls back to the built-in cabins so existing flights keep their layout
+     */
+    private List<CabinLayout> cabinsOf(String configuration) {
+        List<CabinLayout> cabins = seatLayoutProperties.getConfigurations().get(configuration);
+        if (cabins != null) {
+            return cabins;
+        }
+        if (STANDARD_CONFIGURATION.equals(configuration)) {
+            return SeatGenerator.STANDARD_CABINS;
+        }
+        throw new IllegalStateException("Unknown seat configuration: " + configuration);
+    }
+}
@@ -0,0 +1,28 @@
+package com.cache;
+
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Shares one in-flight lookup between all concurrent callers asking for the same key.
+ * The first caller starts the lookup and later callers subscribe to the same replayed
+ * result; the key is dropped as soon as the lookup completes, so nothing is cached
+ * beyond one round trip. Results are shared instances and must be treated as read-only.
+ */
+public final class SingleFlight<K, V> {
+
+    private final Map<K, Mono<V>> inFlight = new ConcurrentHashMap<>();
+
+    public Mono<V> execute(K key, Supplier<Mono<V>> lookup) {
+        return Mono.defer(() -> inFlight.computeIfAbsent(key, k -> lookup.get()
+                .doFinally(signal -> inFlight.remove(k))
+                .cache()));
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+}
@@ -0,0 +1,135 @@
+package com.cache;
+
+import com.dto.response.CacheStatsResponse;
+import com.dto.response.TicketResponse;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded LRU cache of assembled tickets keyed by PNR, with a TTL.
+ * Tickets are written through when a booking is made or cancelled on this instance,
+ * and dropped when the {@link BookingChangeFeed} shows another instance changed the booking.
+ * Tickets are copied in and out, so a reader never shares an instance with the cache.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TicketCache {
+
+    private final BookingChangeFeed bookingChangeFeed;
+
+    @Value("${app.booking.ticket-cache.max-entries:50000}")
+    private int maxEntries;
+
+    @Value("${app.booking.ticket-cache.ttl-seconds:600}")
+    private long ttlSeconds;
+
+    // Access-ordered for LRU eviction; every access is synchronized on the map
+    private final Map<String, Entry> entries = new LinkedHashMap<>(1024, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            if (size() > maxEntries) {
+                pnrsByBookingId.remove(eldest.getValue().ticket().getBookingId());
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    // bookingId -> pnr, since delete events carry only the booking id
+    private final Map<String, String> pnrsByBookingId = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    private record Entry(TicketResponse ticket, long storedAt) {
+    }
+
+    @PostConstruct
+    public void subscribeToChanges() {
+        bookingChangeFeed.changes().subscribe(change -> {
+            String pnr = change.booking() != null
+                    ? change.booking().getPnr()
+                    : pnrsByBookingId.get(change.bookingId());
+            if (pnr != null) {
+                invalidateUnless(pnr, change.booking() != null ? change.booking().getStatus() : null);
+            }
+        });
+    }
+
+    public Optional<TicketResponse> get(String pnr) {
+        synchronized (entries) {
+            Entry entry = entries.get(pnr);
+            if (entry == null || System.nanoTime() - entry.storedAt() > Duration.ofSeconds(ttlSeconds).toNanos()) {
+                if (entry != null) {
+                    remove(pnr);
+                }
+                misses.increment();
+                return Optional.empty();
+            }
+
+            hits.increment();
+            return Optional.of(entry.ticket().copy());
+        }
+    }
+
+    public void put(TicketResponse ticket) {
+        Entry entry = new Entry(ticket.copy(), System.nanoTime());
+        synchronized (entries) {
+            entries.put(ticket.getPnr(), entry);
+            pnrsByBookingId.put(ticket.getBookingId(), ticket.getPnr());
+        }
+    }
+
+    public CacheStatsResponse stats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+
+        return CacheStatsResponse.builder()
+                .name("tickets")
+                .size(size)
+                .maxSize(maxEntries)
+                .hits(hits.sum())
+                .misses(misses.sum())
+                .evictions(evictions.sum())
+                .invalidations(invalidations.sum())
+                .build();
+    }
+
+    /**
+     * Drop the ticket unless it already shows the given status. A booking only changes
+     * through cancellation, so a matching status means the change was this instance's
+     * own write-through (or made no visible difference).
+     */
+    private void invalidateUnless(String pnr, String status) {
+        synchronized (entries) {
+            Entry entry = entries.get(pnr);
+            if (entry != null && (status == null || !status.equals(entry.ticket().getStatus()))) {
+                remove(pnr);
+                invalidations.increment();
+            }
+        }
+    }
+
+    private void remove(String pnr) {
+        Entry removed = entries.remove(pnr);
+        if (removed != null) {
+            pnrsByBookingId.remove(removed.ticket().getBookingId());
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.cache;
+
+import com.dto.response.CacheStatsResponse;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded LRU cache of rendered ticket PDFs, keyed by PNR and the booking status they show.
+ * A document rendered for an older status never matches a lookup, and the {@link BookingChangeFeed}
+ * drops it as soon as the booking changes on any instance, e.g. when it is cancelled.
+ * Cached byte arrays are shared and must not be modified.
+ */
+@Component
+@RequiredArgsConstructor
+public class TicketPdfCache {
+
+    private final BookingChangeFeed bookingChangeFeed;
+
+    @Value("${app.booking.ticket-pdf-cache.max-entries:10000}")
+    private int maxEntries;
+
+    // Access-ordered for LRU eviction; every access is synchronized on the map
+    private final Map<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            if (size() > maxEntries) {
+                pnrsByBookingId.remove(eldest.getValue().bookingId());
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    // bookingId -> pnr, since delete events carry only the booking id
+    private final Map<String, String> pnrsByBookingId = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    private record Entry(String bookingId, String status, byte[] pdf) {
+    }
+
+    @PostConstruct
+    public void subscribeToChanges() {
+        bookingChangeFeed.changes().subscribe(change -> {
+            String pnr = change.booking() != null
+                    ? change.booking().getPnr()
+                    : pnrsByBookingId.get(change.bookingId());
+            if (pnr != null) {
+                invalidateUnless(pnr, change.booking() != null ? change.booking().getStatus() : null);
+            }
+        });
+    }
+
+    /**
+     * @return the document rendered for the booking in the given status
+     */
+    public Optional<byte[]> get(String pnr, String status) {
+        synchronized (entries) {
+            Entry entry = entries.get(pnr);
+            if (entry == null || !entry.status().equals(status)) {
+                misses.increment();
+                return Optional.empty();
+            }
+
+            hits.increment();
+            return Optional.of(entry.pdf());
+        }
+    }
+
+    public void put(String bookingId, String pnr, String status, byte[] pdf) {
+        synchronized (entries) {
+            entries.put(pnr, new Entry(bookingId, status, pdf));
+            pnrsByBookingId.put(bookingId, pnr);
+        }
+    }
+
+    public CacheStatsResponse stats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+
+        return CacheStatsResponse.builder()
+                .name("ticket-pdf")
+                .size(size)
+                .maxSize(maxEntries)
+                .hits(hits.sum())
+                .misses(misses.sum())
+                .evictions(evictions.sum())
+                .invalidations(invalidations.sum())
+                .build();
+    }
+
+    private void invalidateUnless(String pnr, String status) {
+        synchronized (entries) {
+            Entry entry = entries.get(pnr);
+            if (entry != null && !entry.status().equals(status)) {
+                entries.remove(pnr);
+                pnrsByBookingId.remove(entry.bookingId());
+                invalidations.increment();
+            }
+        }
+    }
+}
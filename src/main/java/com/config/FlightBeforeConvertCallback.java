@@ -0,0 +1,26 @@
+package com.config;
+
+import com.model.Flight;
+import com.util.DateTimeUtil;
+import org.reactivestreams.Publisher;
+import org.springframework.data.mongodb.core.mapping.event.ReactiveBeforeConvertCallback;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Fills in derived flight fields on every save so search can read them as stored.
+ */
+@Component
+public class FlightBeforeConvertCallback implements ReactiveBeforeConvertCallback<Flight> {
+
+    @Override
+    public Publisher<Flight> onBeforeConvert(Flight flight, String collection) {
+        if (flight.getDepartureDateTime() != null && flight.getArrivalDateTime() != null) {
+            flight.setDuration(DateTimeUtil.calculateDuration(
+                    flight.getDepartureDateTime(),
+                    flight.getArrivalDateTime()
+            ));
+        }
+        return Mono.just(flight);
+    }
+}
@@ -0,0 +1,84 @@
+package com.config;
+
+import com.model.Airline;
+import com.model.Airport;
+import com.model.Booking;
+import com.model.Flight;
+import com.model.OutboxMessage;
+import com.model.SeatHold;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.ReactiveIndexOperations;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Creates the indexes declared on the entities. MongoConfig builds its own template, so
+ * Spring Boot's auto-index-creation never applies; unique constraints, TTL expiry and the
+ * query indexes all depend on this running at startup.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MongoIndexInitializer {
+
+    static final List<Class<?>> INDEXED_ENTITIES = List.of(
+            Booking.class,
+            Flight.class,
+            Airline.class,
+            Airport.class,
+            OutboxMessage.class,
+            SeatHold.class
+    );
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void createIndexes() {
+        ensureIndexes()
+                .count()
+                .subscribe(
+                        created -> log.info("Ensured {} indexes", created),
+                        error -> log.error("Error creating indexes: {}", error.getMessage())
+                );
+    }
+
+    /**
+     * Ensure every declared index exists and log what each collection ends up with
+     * @return the names of the indexes ensured
+     */
+    public Flux<String> ensureIndexes() {
+        IndexResolver resolver = IndexResolver.create(mongoTemplate.getConverter().getMappingContext());
+
+        return Flux.fromIterable(INDEXED_ENTITIES)
+                .concatMap(entity -> {
+                    ReactiveIndexOperations indexOps = mongoTemplate.indexOps(entity);
+
+                    return Flux.fromIterable(resolver.resolveIndexFor(entity))
+                            // One bad index, e.g. unique over existing duplicates, must not stop the others
+                            .concatMap(index -> indexOps.ensureIndex(index)
+                                    .onErrorResume(error -> {
+                                        log.error("Could not create index {} on {}: {}", index.getIndexOptions(),
+                                                entity.getSimpleName(), error.getMessage());
+                                        return Mono.empty();
+                                    }))
+                            .concatWith(indexOps.getIndexInfo()
+                                    .map(IndexInfo::getName)
+                                    .collectList()
+                                    .doOnNext(names -> log.debug("Indexes on {}: {}",
+                                            mongoTemplate.getCollectionName(entity), names))
+                                    .then(Mono.empty()));
+                });
+    }
+}
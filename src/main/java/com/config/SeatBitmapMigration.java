@@ -0,0 +1,112 @@
+package com.config;
+
+import com.cache.SeatLayoutCatalogue;
+import com.model.Flight;
+import com.model.SeatLayout;
+import com.util.SeatBitmap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Converts flights written before the seat layout catalogue existed: the embedded
+ * seats array is folded into a seat bitmap and then removed from the document.
+ * Flights that have a bitmap but no per-cabin seat counters get them computed from it.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SeatBitmapMigration {
+
+    private static final int CONCURRENCY = 4;
+    private static final int BACKFILL_ATTEMPTS = 5;
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final SeatLayoutCatalogue seatLayoutCatalogue;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateEmbeddedSeats() {
+        Query legacyFlights = Query.query(Criteria.where("seats").exists(true));
+        legacyFlights.fields().include("totalSeats", "seats.seatNumber", "seats.isAvailable");
+
+        mongoTemplate.find(legacyFlights, Document.class, mongoTemplate.getCollectionName(Flight.class))
+                .flatMap(this::migrate, CONCURRENCY)
+                .count()
+                .doOnNext(migrated -> {
+                    if (migrated > 0) {
+                        log.info("Migrated {} flights to seat bitmaps", migrated);
+                    }
+                })
+                .then(backfillCabinCounters())
+                .filter(backfilled -> backfilled > 0)
+                .subscribe(
+                        backfilled -> log.info("Added cabin seat counters to {} flights", backfilled),
+                        error -> log.error("Error migrating flight seat maps: {}", error.getMessage())
+                );
+    }
+
+    private Mono<Long> backfillCabinCounters() {
+        Query flightsWithoutCounters = Query.query(Criteria.where("availableSeatsByCabin").exists(false)
+                .and("seatBitmap").exists(true));
+        flightsWithoutCounters.fields().include("_id");
+
+        return mongoTemplate.find(flightsWithoutCounters, Document.class, mongoTemplate.getCollectionName(Flight.class))
+                .flatMap(flight -> backfillCabinCounters(flight.get("_id")), CONCURRENCY)
+                .count();
+    }
+
+    /**
+     * Set the counters from the bitmap as read; the write only applies if no booking changed
+     * the bitmap in between, otherwise the flight is read again
+     */
+    private Mono<Boolean> backfillCabinCounters(Object id) {
+        Query byId = Query.query(Criteria.where("_id").is(id));
+        byId.fields().include("seatLayoutKey", "totalSeats", "seatBitmap");
+
+        return Mono.defer(() -> mongoTemplate.findOne(byId, Flight.class)
+                        .flatMap(flight -> {
+                            SeatLayout layout = seatLayoutCatalogue.forFlight(flight);
+                            Update update = new Update()
+                                    .set("availableSeatsByCabin", layout.availableSeatsByCabin(flight.getSeatBitmap()));
+
+                            return mongoTemplate.updateFirst(
+                                    Query.query(Criteria.where("_id").is(id).and("seatBitmap").is(flight.getSeatBitmap())),
+                                    update, Flight.class);
+                        })
+                        .filter(result -> result.getModifiedCount() > 0)
+                        .map(result -> true))
+                .repeatWhenEmpty(BACKFILL_ATTEMPTS, attempts -> attempts);
+    }
+
+    private Mono<Boolean> migrate(Document flight) {
+        SeatLayout layout = seatLayoutCatalogue.forLegacyFlight(flight.getInteger("totalSeats"));
+        List<Long> bitmap = layout.emptyBitmap();
+
+        flight.getList("seats", Document.class).stream()
+                .filter(seat -> Boolean.FALSE.equals(seat.getBoolean("isAvailable")))
+                .mapToInt(seat -> SeatBitmap.slotOf(seat.getString("seatNumber")))
+                .filter(layout::hasSeat)
+                .forEach(slot -> SeatBitmap.markBooked(bitmap, slot));
+
+        Update update = new Update()
+                .set("seatLayoutKey", layout.getKey())
+                .set("seatBitmap", bitmap)
+                .set("availableSeatsByCabin", layout.availableSeatsByCabin(bitmap))
+                .unset("seats");
+
+        return mongoTemplate.updateFirst(
+                        Query.query(Criteria.where("_id").is(flight.get("_id")).and("seats").exists(true)),
+                        update, Flight.class)
+                .map(result -> result.getModifiedCount() > 0);
+    }
+}
@@ -0,0 +1,26 @@
+package com.config;
+
+import com.model.CabinLayout;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Seat configurations from app.seat-layouts, by configuration name.
+ * A configuration that is missing here falls back to the built-in standard cabins.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.seat-layouts")
+@Data
+public class SeatLayoutProperties {
+
+    private String defaultConfiguration = "STD";
+
+    private int flightKeysMaxEntries = 100_000; // flights whose layout key is remembered
+
+    private Map<String, List<CabinLayout>> configurations = new HashMap<>();
+}
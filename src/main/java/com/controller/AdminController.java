@@ -1,9 +1,18 @@
 package com.controller;
 
+import com.cache.FareCalendarCache;
+import com.cache.FlightSearchCache;
+import com.cache.ReferenceDataCache;
+import com.cache.TicketCache;
+import com.cache.TicketPdfCache;
 import com.dto.request.AirlineRequest;
 import com.dto.request.AirportRequest;
 import com.dto.request.InventoryRequest;
+import com.dto.request.ScheduleRequest;
 import com.dto.response.ApiResponse;
+import com.dto.response.CacheStatsResponse;
+import com.dto.response.InventoryImportResult;
+import com.dto.response.ScheduleResponse;
 import com.exception.AirlineNotFoundException;
 import com.exception.AirportNotFoundException;
 import com.exception.DuplicateResourceException;
@@ -12,6 +21,7 @@ import com.model.Airport;
 import com.repository.AirlineRepository;
 import com.repository.AirportRepository;
 import com.service.InventoryService;
+import com.service.TicketService;
 import com.util.Constants;
 import com.util.DateTimeUtil;
 import io.swagger.v3.oas.annotations.Operation;
@@ -19,9 +29,14 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.List;
@@ -34,8 +49,14 @@ import java.util.List;
 public class AdminController {
 
     private final InventoryService inventoryService;
+    private final TicketService ticketService;
     private final AirlineRepository airlineRepository;
     private final AirportRepository airportRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final FlightSearchCache flightSearchCache;
+    private final FareCalendarCache fareCalendarCache;
+    private final TicketCache ticketCache;
+    private final TicketPdfCache ticketPdfCache;
 
     @PostMapping("/inventory")
     @Operation(summary = "Add flight inventory", description = "Add a new flight schedule to the system")
@@ -50,6 +71,49 @@ public class AdminController {
                         .body(response));
     }
 
+    @PostMapping(value = "/inventory/import",
+            consumes = {MediaType.APPLICATION_NDJSON_VALUE, Constants.TEXT_CSV_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Import flight inventory",
+            description = "Stream flights in as NDJSON or CSV (header row of InventoryRequest field names) "
+                    + "and get one NDJSON result line back per row")
+    public Flux<InventoryImportResult> importFlightInventory(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            @RequestBody Flux<DataBuffer> body) {
+
+        log.info("Admin: Importing flight inventory ({})", contentType);
+
+        boolean csv = contentType.isCompatibleWith(MediaType.parseMediaType(Constants.TEXT_CSV_VALUE));
+        return inventoryService.importFlightInventory(body, csv);
+    }
+
+    @PostMapping("/schedules")
+    @Operation(summary = "Create recurring schedule",
+            description = "Create a dated flight for every operating day of the week in the effective date range")
+    public Mono<ResponseEntity<ApiResponse<ScheduleResponse>>> createSchedule(
+            @Valid @RequestBody ScheduleRequest request) {
+
+        log.info("Admin: Creating schedule for {}", request.getFlight().getFlightNumber());
+
+        return inventoryService.createSchedule(request)
+                .map(response -> ResponseEntity
+                        .status(HttpStatus.CREATED)
+                        .body(response));
+    }
+
+    @PutMapping("/schedules/{scheduleId}")
+    @Operation(summary = "Update recurring schedule",
+            description = "Apply a changed schedule to its future flights: add new dates, update changed fields, remove dropped dates")
+    public Mono<ResponseEntity<ApiResponse<ScheduleResponse>>> updateSchedule(
+            @PathVariable String scheduleId,
+            @Valid @RequestBody ScheduleRequest request) {
+
+        log.info("Admin: Updating schedule {}", scheduleId);
+
+        return inventoryService.updateSchedule(scheduleId, request)
+                .map(ResponseEntity::ok);
+    }
+
     @PutMapping("/inventory/{inventoryId}")
     @Operation(summary = "Update flight inventory", description = "Update an existing flight schedule")
     public Mono<ResponseEntity<ApiResponse<String>>> updateFlightInventory(
@@ -62,6 +126,19 @@ public class AdminController {
                 .map(ResponseEntity::ok);
     }
 
+    @GetMapping("/flights/{flightId}/tickets")
+    @Operation(summary = "Export flight tickets", description = "Download every ticket of a flight and a passenger manifest as one ZIP archive")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> exportFlightTickets(@PathVariable String flightId) {
+        log.info("Admin: Exporting tickets for flight {}", flightId);
+
+        return ticketService.exportFlightTickets(flightId)
+                .map(archive -> ResponseEntity
+                        .ok()
+                        .header("Content-Disposition", "attachment; filename=tickets-" + flightId + ".zip")
+                        .header("Content-Type", "application/zip")
+                        .body(archive));
+    }
+
     @PostMapping("/airlines")
     @Operation(summary = "Create airline", description = "Register a new airline in the system")
     public Mono<ResponseEntity<ApiResponse<Airline>>> createAirline(
@@ -69,31 +146,27 @@ public class AdminController {
 
         log.info("Admin: Creating airline {}", request.getAirlineCode());
 
-        return airlineRepository.existsByAirlineCode(request.getAirlineCode())
-                .flatMap(exists -> {
-                    if (Boolean.TRUE.equals(exists)) {
-                        return Mono.error(new DuplicateResourceException(
-                                "Airline", request.getAirlineCode()
-                        ));
-                    }
-
-                    Airline airline = Airline.builder()
-                            .airlineCode(request.getAirlineCode().toUpperCase())
-                            .name(request.getName())
-                            .logoUrl(request.getLogoUrl())
-                            .contactEmail(request.getContactEmail())
-                            .contactPhone(request.getContactPhone())
-                            .website(request.getWebsite())
-                            .isActive(true)
-                            .createdAt(DateTimeUtil.getCurrentTimestamp())
-                            .updatedAt(DateTimeUtil.getCurrentTimestamp())
-                            .build();
-
-                    return airlineRepository.save(airline)
-                            .map(saved -> ResponseEntity
-                                    .status(HttpStatus.CREATED)
-                                    .body(ApiResponse.success("Airline created successfully", saved)));
-                });
+        Airline airline = Airline.builder()
+                .airlineCode(request.getAirlineCode().toUpperCase())
+                .name(request.getName())
+                .logoUrl(request.getLogoUrl())
+                .contactEmail(request.getContactEmail())
+                .contactPhone(request.getContactPhone())
+                .website(request.getWebsite())
+                .isActive(true)
+                .createdAt(DateTimeUtil.getCurrentTimestamp())
+                .updatedAt(DateTimeUtil.getCurrentTimestamp())
+                .build();
+
+        // The unique index on airlineCode rejects duplicates
+        return airlineRepository.insert(airline)
+                .onErrorMap(DuplicateKeyException.class, error -> new DuplicateResourceException(
+                        "Airline", request.getAirlineCode()
+                ))
+                .doOnNext(referenceDataCache::put)
+                .map(saved -> ResponseEntity
+                        .status(HttpStatus.CREATED)
+                        .body(ApiResponse.success("Airline created successfully", saved)));
     }
 
     @PutMapping("/airlines/{airlineCode}")
@@ -115,6 +188,7 @@ public class AdminController {
                     airline.setUpdatedAt(DateTimeUtil.getCurrentTimestamp());
 
                     return airlineRepository.save(airline)
+                            .doOnNext(referenceDataCache::put)
                             .map(updated -> ResponseEntity.ok(
                                     ApiResponse.success("Airline updated successfully", updated)
                             ));
@@ -126,8 +200,7 @@ public class AdminController {
     public Mono<ResponseEntity<ApiResponse<List<Airline>>>> getAllAirlines() {
         log.info("Admin: Fetching all airlines");
 
-        return airlineRepository.findAll()
-                .collectList()
+        return referenceDataCache.findAllAirlines()
                 .map(airlines -> ResponseEntity.ok(
                         ApiResponse.success("Airlines retrieved successfully", airlines)
                 ));
@@ -140,7 +213,7 @@ public class AdminController {
 
         log.info("Admin: Fetching airline {}", airlineCode);
 
-        return airlineRepository.findByAirlineCode(airlineCode.toUpperCase())
+        return referenceDataCache.findAirline(airlineCode.toUpperCase())
                 .map(airline -> ResponseEntity.ok(
                         ApiResponse.success("Airline retrieved successfully", airline)
                 ))
@@ -154,31 +227,27 @@ public class AdminController {
 
         log.info("Admin: Creating airport {}", request.getIataCode());
 
-        return airportRepository.existsByIataCode(request.getIataCode())
-                .flatMap(exists -> {
-                    if (Boolean.TRUE.equals(exists)) {
-                        return Mono.error(new DuplicateResourceException(
-                                "Airport", request.getIataCode()
-                        ));
-                    }
-
-                    Airport airport = Airport.builder()
-                            .iataCode(request.getIataCode().toUpperCase())
-                            .name(request.getName())
-                            .city(request.getCity())
-                            .country(request.getCountry())
-                            .timezone(request.getTimezone() != null ?
-                                    request.getTimezone() : Constants.TIMEZONE_IST)
-                            .isActive(true)
-                            .createdAt(DateTimeUtil.getCurrentTimestamp())
-                            .updatedAt(DateTimeUtil.getCurrentTimestamp())
-                            .build();
-
-                    return airportRepository.save(airport)
-                            .map(saved -> ResponseEntity
-                                    .status(HttpStatus.CREATED)
-                                    .body(ApiResponse.success("Airport created successfully", saved)));
-                });
+        Airport airport = Airport.builder()
+                .iataCode(request.getIataCode().toUpperCase())
+                .name(request.getName())
+                .city(request.getCity())
+                .country(request.getCountry())
+                .timezone(request.getTimezone() != null ?
+                        request.getTimezone() : Constants.TIMEZONE_IST)
+                .isActive(true)
+                .createdAt(DateTimeUtil.getCurrentTimestamp())
+                .updatedAt(DateTimeUtil.getCurrentTimestamp())
+                .build();
+
+        // The unique index on iataCode rejects duplicates
+        return airportRepository.insert(airport)
+                .onErrorMap(DuplicateKeyException.class, error -> new DuplicateResourceException(
+                        "Airport", request.getIataCode()
+                ))
+                .doOnNext(referenceDataCache::put)
+                .map(saved -> ResponseEntity
+                        .status(HttpStatus.CREATED)
+                        .body(ApiResponse.success("Airport created successfully", saved)));
     }
 
     @PutMapping("/airports/{iataCode}")
@@ -199,6 +268,7 @@ public class AdminController {
                     airport.setUpdatedAt(DateTimeUtil.getCurrentTimestamp());
 
                     return airportRepository.save(airport)
+                            .doOnNext(referenceDataCache::put)
                             .map(updated -> ResponseEntity.ok(
                                     ApiResponse.success("Airport updated successfully", updated)
                             ));
@@ -210,8 +280,7 @@ public class AdminController {
     public Mono<ResponseEntity<ApiResponse<List<Airport>>>> getAllAirports() {
         log.info("Admin: Fetching all airports");
 
-        return airportRepository.findAll()
-                .collectList()
+        return referenceDataCache.findAllAirports()
                 .map(airports -> ResponseEntity.ok(
                         ApiResponse.success("Airports retrieved successfully", airports)
                 ));
@@ -224,10 +293,46 @@ public class AdminController {
 
         log.info("Admin: Fetching airport {}", iataCode);
 
-        return airportRepository.findByIataCode(iataCode.toUpperCase())
+        return referenceDataCache.findAirport(iataCode.toUpperCase())
                 .map(airport -> ResponseEntity.ok(
                         ApiResponse.success("Airport retrieved successfully", airport)
                 ))
                 .switchIfEmpty(Mono.error(new AirportNotFoundException(iataCode)));
     }
-}
\ No newline at end of file
+
+    @GetMapping("/cache/search")
+    @Operation(summary = "Get search cache statistics", description = "Hit, miss, eviction and invalidation counts of the flight search cache")
+    public Mono<ResponseEntity<ApiResponse<CacheStatsResponse>>> getSearchCacheStats() {
+        return Mono.fromSupplier(flightSearchCache::stats)
+                .map(stats -> ResponseEntity.ok(
+                        ApiResponse.success("Search cache statistics retrieved successfully", stats)
+                ));
+    }
+
+    @GetMapping("/cache/fare-calendar")
+    @Operation(summary = "Get fare calendar cache statistics", description = "Hit, miss, eviction and invalidation counts of the fare calendar cache")
+    public Mono<ResponseEntity<ApiResponse<CacheStatsResponse>>> getFareCalendarCacheStats() {
+        return Mono.fromSupplier(fareCalendarCache::stats)
+                .map(stats -> ResponseEntity.ok(
+                        ApiResponse.success("Fare calendar cache statistics retrieved successfully", stats)
+                ));
+    }
+
+    @GetMapping("/cache/tickets")
+    @Operation(summary = "Get ticket cache statistics", description = "Hit, miss, eviction and invalidation counts of the ticket cache")
+    public Mono<ResponseEntity<ApiResponse<CacheStatsResponse>>> getTicketCacheStats() {
+        return Mono.fromSupplier(ticketCache::stats)
+                .map(stats -> ResponseEntity.ok(
+                        ApiResponse.success("Ticket cache statistics retrieved successfully", stats)
+                ));
+    }
+
+    @GetMapping("/cache/ticket-pdfs")
+    @Operation(summary = "Get ticket PDF cache statistics", description = "Hit, miss, eviction and invalidation counts of the rendered ticket PDF cache")
+    public Mono<ResponseEntity<ApiResponse<CacheStatsResponse>>> getTicketPdfCacheStats() {
+        return Mono.fromSupplier(ticketPdfCache::stats)
+                .map(stats -> ResponseEntity.ok(
+                        ApiResponse.success("Ticket PDF cache statistics retrieved successfully", stats)
+                ));
+    }
+}
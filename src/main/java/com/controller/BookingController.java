@@ -2,6 +2,7 @@ package com.controller;
 
 import com.dto.request.BookingRequest;
 import com.dto.response.ApiResponse;
+import com.dto.response.BookingHistoryPage;
 import com.dto.response.BookingResponse;
 import com.dto.response.CancellationResponse;
 import com.dto.response.TicketResponse;
@@ -13,9 +14,12 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.List;
@@ -81,6 +85,31 @@ public class BookingController {
                 });
     }
 
+    @GetMapping("/user/{email}/page")
+    @Operation(summary = "Get booking history page",
+            description = "Retrieve a user's bookings newest first, one page at a time; pass nextCursor back as cursor")
+    public Mono<ResponseEntity<ApiResponse<BookingHistoryPage>>> getBookingHistoryPage(
+            @PathVariable String email,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+
+        log.info("Fetching booking history page for email: {}", email);
+
+        return bookingService.getBookingHistoryPage(email, cursor, limit)
+                .map(page -> ResponseEntity.ok(
+                        ApiResponse.success("Booking history retrieved successfully", page)
+                ));
+    }
+
+    @GetMapping(value = "/user/{email}", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    @Operation(summary = "Get booking history (streaming)",
+            description = "Stream a user's bookings one by one as NDJSON or server-sent events, without the ApiResponse envelope")
+    public Flux<BookingResponse> streamBookingHistory(@PathVariable String email) {
+        log.info("Streaming booking history for email: {}", email);
+
+        return bookingService.getBookingHistory(email);
+    }
+
     @DeleteMapping("/{pnr}")
     @Operation(summary = "Cancel booking", description = "Cancel a booking using PNR number")
     public Mono<ResponseEntity<ApiResponse<CancellationResponse>>> cancelBooking(
@@ -96,15 +125,15 @@ public class BookingController {
 
     @GetMapping("/{pnr}/download")
     @Operation(summary = "Download ticket", description = "Download ticket PDF for a booking")
-    public Mono<ResponseEntity<byte[]>> downloadTicket(@PathVariable String pnr) {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> downloadTicket(@PathVariable String pnr) {
         log.info("Downloading ticket for PNR: {}", pnr);
 
         return ticketService.downloadTicketPdf(pnr)
-                .map(pdfBytes -> ResponseEntity
+                .map(pdfChunks -> ResponseEntity
                         .ok()
                         .header("Content-Disposition", "attachment; filename=ticket-" + pnr + ".pdf")
                         .header("Content-Type", "application/pdf")
-                        .body(pdfBytes));
+                        .body(pdfChunks));
     }
 
     @PostMapping("/{pnr}/resend-email")
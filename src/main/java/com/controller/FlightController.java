@@ -2,7 +2,10 @@ package com.controller;
 
 import com.dto.request.FlightSearchRequest;
 import com.dto.response.ApiResponse;
+import com.dto.response.ConnectionItinerary;
+import com.dto.response.FareCalendarResponse;
 import com.dto.response.FlightSearchResponse;
+import com.dto.response.RoundTripOption;
 import com.service.FlightService;
 import com.util.Constants;
 import io.swagger.v3.oas.annotations.Operation;
@@ -10,11 +13,15 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -51,6 +58,85 @@ public class FlightController {
                 });
     }
 
+    @PostMapping(value = "/search", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    @Operation(summary = "Search flights (streaming)",
+            description = "Stream matching flights one by one as NDJSON or server-sent events, without the ApiResponse envelope")
+    public Flux<FlightSearchResponse> streamFlights(@Valid @RequestBody FlightSearchRequest request) {
+        log.info("Received streaming flight search request: {} to {}", request.getOrigin(), request.getDestination());
+
+        return flightService.searchFlights(request);
+    }
+
+    @PostMapping("/search/round-trip")
+    @Operation(summary = "Search round trips",
+            description = "Search outbound and return legs concurrently and pair them, cheapest combined fare first")
+    public Mono<ResponseEntity<ApiResponse<List<RoundTripOption>>>> searchRoundTrips(
+            @Valid @RequestBody FlightSearchRequest request) {
+
+        log.info("Received round trip search request: {} to {}", request.getOrigin(), request.getDestination());
+
+        return flightService.searchRoundTrip(request)
+                .collectList()
+                .map(options -> {
+                    if (options.isEmpty()) {
+                        return ResponseEntity
+                                .status(HttpStatus.NOT_FOUND)
+                                .body(ApiResponse.<List<RoundTripOption>>builder()
+                                        .success(false)
+                                        .message("No round trips found for the given search criteria")
+                                        .data(options)
+                                        .build());
+                    }
+                    return ResponseEntity.ok(
+                            ApiResponse.success("Round trips retrieved successfully", options)
+                    );
+                });
+    }
+
+    @PostMapping("/search/connections")
+    @Operation(summary = "Search connecting flights",
+            description = "Search direct, one-stop and two-stop itineraries (up to maxStops), shortest travel time first")
+    public Mono<ResponseEntity<ApiResponse<List<ConnectionItinerary>>>> searchConnections(
+            @Valid @RequestBody FlightSearchRequest request) {
+
+        log.info("Received connection search request: {} to {}", request.getOrigin(), request.getDestination());
+
+        return flightService.searchConnections(request)
+                .collectList()
+                .map(itineraries -> {
+                    if (itineraries.isEmpty()) {
+                        return ResponseEntity
+                                .status(HttpStatus.NOT_FOUND)
+                                .body(ApiResponse.<List<ConnectionItinerary>>builder()
+                                        .success(false)
+                                        .message("No itineraries found for the given search criteria")
+                                        .data(itineraries)
+                                        .build());
+                    }
+                    return ResponseEntity.ok(
+                            ApiResponse.success("Itineraries retrieved successfully", itineraries)
+                    );
+                });
+    }
+
+    @GetMapping("/fare-calendar")
+    @Operation(summary = "Get fare calendar",
+            description = "Lowest fare and seat availability per day for a route, within flexDays either side of the date")
+    public Mono<ResponseEntity<ApiResponse<FareCalendarResponse>>> getFareCalendar(
+            @RequestParam String origin,
+            @RequestParam String destination,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(defaultValue = "3") int flexDays,
+            @RequestParam(defaultValue = "1") int passengers) {
+
+        log.info("Fetching fare calendar: {} to {} around {}", origin, destination, date);
+
+        return flightService.getFareCalendar(origin, destination, date, flexDays, passengers)
+                .map(calendar -> ResponseEntity.ok(
+                        ApiResponse.success("Fare calendar retrieved successfully", calendar)
+                ));
+    }
+
     @GetMapping("/{flightId}")
     @Operation(summary = "Get flight details", description = "Retrieve detailed information about a specific flight")
     public Mono<ResponseEntity<ApiResponse<Object>>> getFlightById(@PathVariable String flightId) {
@@ -67,9 +153,9 @@ public class FlightController {
     public Mono<ResponseEntity<ApiResponse<Object>>> getSeatMap(@PathVariable String flightId) {
         log.info("Fetching seat map for flight: {}", flightId);
 
-        return flightService.getFlightById(flightId)
-                .map(flight -> ResponseEntity.ok(
-                        ApiResponse.success("Seat map retrieved successfully", flight.getSeats())
+        return flightService.getSeatMap(flightId)
+                .map(seats -> ResponseEntity.ok(
+                        ApiResponse.success("Seat map retrieved successfully", seats)
                 ));
     }
 }
\ No newline at end of file
@@ -0,0 +1,92 @@
+package com.controller;
+
+import com.dto.request.BookingRequest;
+import com.dto.request.SeatHoldRequest;
+import com.dto.response.ApiResponse;
+import com.dto.response.BookingResponse;
+import com.dto.response.SeatHoldResponse;
+import com.service.BookingService;
+import com.service.SeatHoldService;
+import com.util.Constants;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping(Constants.SEAT_HOLDS_PATH)
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Seat Hold Operations", description = "APIs for holding seats while a booking is being paid for")
+public class SeatHoldController {
+
+    private final SeatHoldService seatHoldService;
+    private final BookingService bookingService;
+
+    @PostMapping
+    @Operation(summary = "Hold seats", description = "Hold seats on a flight for the configured hold duration")
+    public Mono<ResponseEntity<ApiResponse<SeatHoldResponse>>> holdSeats(
+            @Valid @RequestBody SeatHoldRequest request) {
+
+        log.info("Holding seats on flight: {}", request.getFlightId());
+
+        return seatHoldService.holdSeats(request)
+                .map(hold -> ResponseEntity
+                        .status(HttpStatus.CREATED)
+                        .body(ApiResponse.success("Seats held successfully", hold)));
+    }
+
+    @GetMapping("/{holdId}")
+    @Operation(summary = "Get seat hold", description = "Retrieve an active seat hold")
+    public Mono<ResponseEntity<ApiResponse<SeatHoldResponse>>> getHold(@PathVariable String holdId) {
+        log.info("Fetching seat hold: {}", holdId);
+
+        return seatHoldService.getHold(holdId)
+                .map(hold -> ResponseEntity.ok(
+                        ApiResponse.success("Seat hold retrieved successfully", hold)
+                ));
+    }
+
+    @PutMapping("/{holdId}/extend")
+    @Operation(summary = "Extend seat hold", description = "Restart the hold timer of an active seat hold")
+    public Mono<ResponseEntity<ApiResponse<SeatHoldResponse>>> extendHold(@PathVariable String holdId) {
+        log.info("Extending seat hold: {}", holdId);
+
+        return seatHoldService.extendHold(holdId)
+                .map(hold -> ResponseEntity.ok(
+                        ApiResponse.success("Seat hold extended successfully", hold)
+                ));
+    }
+
+    @DeleteMapping("/{holdId}")
+    @Operation(summary = "Release seat hold", description = "Release held seats without booking them")
+    public Mono<ResponseEntity<ApiResponse<SeatHoldResponse>>> releaseHold(@PathVariable String holdId) {
+        log.info("Releasing seat hold: {}", holdId);
+
+        return seatHoldService.releaseHold(holdId)
+                .map(hold -> ResponseEntity.ok(
+                        ApiResponse.success("Seat hold released successfully", hold)
+                ));
+    }
+
+    @PostMapping("/{holdId}/booking")
+    @Operation(summary = "Convert hold to booking", description = "Book the seats of an active seat hold")
+    public Mono<ResponseEntity<ApiResponse<BookingResponse>>> convertToBooking(
+            @PathVariable String holdId,
+            @Valid @RequestBody BookingRequest request) {
+
+        log.info("Converting seat hold {} to booking", holdId);
+
+        request.setHoldId(holdId);
+
+        return bookingService.createBooking(request)
+                .map(booking -> ResponseEntity
+                        .status(HttpStatus.CREATED)
+                        .body(ApiResponse.success("Booking created successfully", booking)));
+    }
+}
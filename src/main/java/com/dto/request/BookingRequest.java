@@ -33,4 +33,6 @@ public class BookingRequest {
 
     @NotEmpty(message = "At least one seat must be selected")
     private List<String> seatNumbers;
+
+    private String holdId; // Optional, set when booking seats from a seat hold
 }
\ No newline at end of file
@@ -34,4 +34,6 @@ public class FlightSearchRequest {
     private String tripType; // ONEWAY or ROUNDTRIP
 
     private String cabinClass; // ECONOMY, BUSINESS, FIRST_CLASS
+
+    private Integer maxStops; // 0-2, connection search only; defaults to 1
 }
\ No newline at end of file
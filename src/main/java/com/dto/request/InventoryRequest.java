@@ -46,6 +46,8 @@ public class InventoryRequest {
     @Min(value = 0, message = "Fare must be non-negative")
     private Double baseFare;
 
+    private String seatConfiguration; // cabin layout from app.seat-layouts; the default one if omitted
+
     private List<String> daysOfWeek; // For recurring schedules
 
     private String currency;
@@ -0,0 +1,28 @@
+package com.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduleRequest {
+
+    // Flight to repeat; departure/arrival give the times of day, daysOfWeek the operating days
+    @Valid
+    @NotNull(message = "Flight is required")
+    private InventoryRequest flight;
+
+    @NotNull(message = "Effective start date is required")
+    private LocalDate effectiveFrom;
+
+    @NotNull(message = "Effective end date is required")
+    private LocalDate effectiveTo; // inclusive
+}
@@ -0,0 +1,29 @@
+package com.dto.request;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatHoldRequest {
+
+    @NotBlank(message = "Flight ID is required")
+    private String flightId;
+
+    @NotEmpty(message = "At least one seat must be selected")
+    @Size(max = 9, message = "At most 9 seats can be held at once")
+    private List<String> seatNumbers;
+
+    @Email(message = "Invalid email format")
+    private String contactEmail;
+}
@@ -0,0 +1,20 @@
+package com.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingHistoryPage {
+
+    private List<BookingResponse> bookings;
+
+    private String nextCursor; // pass back as cursor to get the next page; null on the last page
+    private boolean hasMore;
+}
@@ -0,0 +1,25 @@
+package com.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatsResponse {
+
+    private String name;
+
+    private int size;
+    private int maxSize;
+
+    private long hits;
+    private long staleHits; // served stale while a reload ran
+    private long misses;
+    private long evictions;
+    private long invalidations;
+    private long loadFailures;
+}
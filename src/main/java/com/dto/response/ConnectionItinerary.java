@@ -0,0 +1,26 @@
+package com.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConnectionItinerary {
+
+    private List<FlightSearchResponse> legs;
+    private Integer stops;
+
+    private LocalDateTime departureDateTime;
+    private LocalDateTime arrivalDateTime;
+    private String totalDuration; // first departure to last arrival, including layovers
+
+    private Double totalFare; // sum of leg base fares, per passenger
+    private String currency;
+}
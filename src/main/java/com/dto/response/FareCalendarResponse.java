@@ -0,0 +1,26 @@
+package com.dto.response;
+
+import com.model.DailyFare;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FareCalendarResponse {
+
+    private String origin;
+    private String destination;
+
+    private LocalDate fromDate;
+    private LocalDate toDate;
+
+    private LocalDate cheapestDate; // null when no day has a flight
+    private List<DailyFare> days;   // one entry per day in the window
+}
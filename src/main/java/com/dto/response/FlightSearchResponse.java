@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 
 @Data
 @Builder
@@ -31,5 +32,6 @@ public class FlightSearchResponse {
     private String currency;
 
     private Integer availableSeats;
+    private Map<String, Integer> availableSeatsByCabin;
     private String aircraftType;
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryImportResult {
+
+    private long line; // 1-based line of the row in the uploaded body
+    private String status; // CREATED or REJECTED
+    private String flightId;
+    private String flightNumber;
+    private String error;
+}
@@ -0,0 +1,19 @@
+package com.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoundTripOption {
+
+    private FlightSearchResponse outbound;
+    private FlightSearchResponse inbound;
+
+    private Double combinedFare; // outbound + inbound base fare, per passenger
+    private String currency;
+}
@@ -0,0 +1,26 @@
+package com.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduleResponse {
+
+    private String scheduleId;
+
+    private int instances; // dated flights the schedule now describes
+    private int created;
+    private int updated;
+    private int unchanged;
+    private int removed;
+
+    // Flights left as they were because seats are sold: dropped from the pattern or given another seat count
+    private List<String> retainedFlightIds;
+}
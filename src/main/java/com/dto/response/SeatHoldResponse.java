@@ -0,0 +1,25 @@
+package com.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatHoldResponse {
+
+    private String holdId;
+    private String flightId;
+    private String status; // HELD, RELEASED
+
+    private List<String> seatNumbers;
+    private String contactEmail;
+
+    private Instant expiresAt;
+}
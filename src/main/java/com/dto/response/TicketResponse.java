@@ -8,7 +8,7 @@ import lombok.NoArgsConstructor;
 import java.util.List;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class TicketResponse {
@@ -23,4 +23,32 @@ public class TicketResponse {
     private List<PassengerInfo> passengers;
 
     private FareBreakdown fareBreakdown;
-}
\ No newline at end of file
+
+    /**
+     * Deep copy, so a shared ticket can be handed out without exposing its nested objects
+     */
+    public TicketResponse copy() {
+        TicketResponseBuilder copy = toBuilder();
+
+        if (flightDetails != null) {
+            copy.flightDetails(flightDetails.toBuilder().build());
+        }
+        if (bookingDetails != null) {
+            copy.bookingDetails(bookingDetails.toBuilder()
+                    .seatNumbers(bookingDetails.getSeatNumbers() != null
+                            ? List.copyOf(bookingDetails.getSeatNumbers())
+                            : null)
+                    .build());
+        }
+        if (passengers != null) {
+            copy.passengers(passengers.stream()
+                    .map(passenger -> passenger.toBuilder().build())
+                    .toList());
+        }
+        if (fareBreakdown != null) {
+            copy.fareBreakdown(fareBreakdown.toBuilder().build());
+        }
+
+        return copy.build();
+    }
+}
@@ -63,6 +63,22 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
     }
 
+    @ExceptionHandler(SeatHoldNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleSeatHoldNotFound(
+            SeatHoldNotFoundException ex,
+            ServerWebExchange exchange) {
+
+        ErrorResponse error = ErrorResponse.builder()
+                .success(false)
+                .error("Seat Hold Not Found")
+                .message(ex.getMessage())
+                .status(HttpStatus.NOT_FOUND.value())
+                .path(exchange.getRequest().getPath().value())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+    }
+
     @ExceptionHandler(InvalidCancellationException.class)
     public ResponseEntity<ErrorResponse> handleInvalidCancellation(
             InvalidCancellationException ex,
@@ -0,0 +1,14 @@
+package com.exception;
+
+public class SeatHoldNotFoundException extends RuntimeException {
+
+    public SeatHoldNotFoundException(String message) {
+        super(message);
+    }
+
+    public static SeatHoldNotFoundException forHoldId(String holdId) {
+        return new SeatHoldNotFoundException(
+                String.format("Seat hold '%s' not found or already expired", holdId)
+        );
+    }
+}
@@ -5,6 +5,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
@@ -16,6 +17,7 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "bookings")
+@CompoundIndex(name = "email_booked_idx", def = "{'contactEmail': 1, 'bookingDateTime': -1, '_id': -1}")
 public class Booking {
 
     @Id
@@ -24,12 +26,13 @@ public class Booking {
     @Indexed(unique = true)
     private String pnr;
 
+    @Indexed
     private String flightId;
     private String flightNumber;
     private String route; // e.g., "DEL-BOM"
+    private FlightSnapshot flightSnapshot; // flight as sold; null on bookings made before snapshots
 
-    @Indexed
-    private String contactEmail;
+    private String contactEmail; // leading key of email_booked_idx
     private String contactName;
 
     private List<Passenger> passengers;
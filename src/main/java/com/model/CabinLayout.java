@@ -0,0 +1,32 @@
+package com.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One cabin of a seat configuration: its rows, seat letters and seat pricing.
+ * Cabins are filled front to back in the order they are configured.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CabinLayout {
+
+    private String seatClass; // ECONOMY, BUSINESS, FIRST_CLASS
+    private Integer rows; // ignored for the last cabin: it takes every remaining seat
+    private String letters; // seat letters of a row, e.g. ABCDEF
+    private String windowLetters;
+    private String aisleLetters;
+
+    @Builder.Default
+    private double extraCharge = 0.0; // charged on every seat of the cabin
+
+    @Builder.Default
+    private double windowCharge = 0.0;
+
+    @Builder.Default
+    private double aisleCharge = 0.0;
+}
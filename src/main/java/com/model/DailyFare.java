@@ -0,0 +1,26 @@
+package com.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * One day of a route's fare calendar, aggregated over the flights departing that day
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyFare {
+
+    private LocalDate date;
+
+    private Double lowestFare; // null when no flight that day has enough seats
+    private String currency;
+
+    private Integer flights;        // flights with enough seats
+    private Integer availableSeats; // summed over those flights
+}
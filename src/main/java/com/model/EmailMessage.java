@@ -0,0 +1,21 @@
+package com.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmailMessage {
+
+    private String messageId; // outbox message id, lets the relay drop duplicates
+    private String to;
+    private String subject;
+    private String body;
+
+    private String attachmentName; // null when there is no attachment
+    private byte[] attachment;
+}
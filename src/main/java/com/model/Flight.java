@@ -1,5 +1,6 @@
 package com.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -7,19 +8,25 @@ import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "flights")
 @CompoundIndexes({
         @CompoundIndex(name = "route_date_idx", def = "{'origin': 1, 'destination': 1, 'departureDateTime': 1}"),
-        @CompoundIndex(name = "airline_flight_idx", def = "{'airlineCode': 1, 'flightNumber': 1}")
+        // One flight per airline, flight number and departure; also serves lookups by airline and flight number
+        @CompoundIndex(name = "airline_flight_departure_idx",
+                def = "{'airlineCode': 1, 'flightNumber': 1, 'departureDateTime': 1}", unique = true)
 })
 public class Flight {
 
@@ -36,19 +43,37 @@ public class Flight {
 
     private LocalDateTime departureDateTime;
     private LocalDateTime arrivalDateTime;
+    private String duration; // derived from the times on save, read as-is by search
 
     private String aircraftType;
     private Integer totalSeats;
     private Integer availableSeats;
+    private Map<String, Integer> availableSeatsByCabin; // seat class -> seats left, updated with seatBitmap
 
     private Double baseFare;
     private String currency;
 
-    private List<Seat> seats;
+    private String seatLayoutKey; // shared layout from SeatLayoutCatalogue
+    @JsonIgnore // exposed through the seat map endpoint instead
+    private List<Long> seatBitmap; // bit per seat slot, set when booked or not on this aircraft
     private List<String> daysOfWeek;
 
+    @Indexed
+    private String scheduleId; // recurring schedule this flight was expanded from; null for one-off flights
+
     private String status; // SCHEDULED, DEPARTED, CANCELLED
 
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
-}
\ No newline at end of file
+
+    /**
+     * Copy with its own collections, so a shared flight can be handed out and changed safely
+     */
+    public Flight copy() {
+        return toBuilder()
+                .availableSeatsByCabin(availableSeatsByCabin != null ? new HashMap<>(availableSeatsByCabin) : null)
+                .seatBitmap(seatBitmap != null ? new ArrayList<>(seatBitmap) : null)
+                .daysOfWeek(daysOfWeek != null ? new ArrayList<>(daysOfWeek) : null)
+                .build();
+    }
+}
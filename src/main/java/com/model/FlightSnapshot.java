@@ -0,0 +1,35 @@
+package com.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flight details copied onto a booking when it is made. Never updated afterwards,
+ * so a ticket shows what was sold and can be rendered without reading the flight.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightSnapshot {
+
+    private String flightNumber;
+    private String airlineCode;
+    private String airlineName;
+    private String airlineLogoUrl;
+
+    private String origin;
+    private String destination;
+
+    private LocalDateTime departureDateTime;
+    private LocalDateTime arrivalDateTime;
+    private String duration;
+
+    private String aircraftType;
+
+    private Double baseFare; // per passenger, at booking time
+}
@@ -0,0 +1,44 @@
+package com.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Read model for flight search: the fields of a flights document that a search
+ * result shows, loaded through a projection so the seat bitmap is never read.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightSummary {
+
+    @Id
+    private String id;
+
+    private String flightNumber;
+    private String airlineCode;
+    private String airlineName;
+    private String airlineLogoUrl;
+
+    private String origin;
+    private String destination;
+
+    private LocalDateTime departureDateTime;
+    private LocalDateTime arrivalDateTime;
+
+    private String duration;
+
+    private String aircraftType;
+    private Integer availableSeats;
+    private Map<String, Integer> availableSeatsByCabin;
+
+    private Double baseFare;
+    private String currency;
+}
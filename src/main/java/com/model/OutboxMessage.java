@@ -0,0 +1,48 @@
+package com.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * A notification waiting to be sent. Written with the booking change it announces;
+ * the dispatcher builds the email from the booking when it sends it.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "outbox")
+@CompoundIndex(name = "status_due_idx", def = "{'status': 1, 'nextAttemptAt': 1}")
+public class OutboxMessage {
+
+    @Id
+    private String id; // bookingId:type for booking events, so a message is never written twice
+
+    private String type; // BOOKING_CONFIRMED, BOOKING_CANCELLED, TICKET_RESEND
+
+    @Indexed
+    private String bookingId;
+
+    private String status; // PENDING, SENDING, SENT, FAILED, DISCARDED
+    private int attempts;
+    private LocalDateTime nextAttemptAt;
+
+    private String claimToken; // dispatcher run that is sending it
+    private LocalDateTime claimedAt;
+
+    private LocalDateTime createdAt;
+
+    // Sent messages are kept a week for support queries, then removed by the TTL index;
+    // failed and discarded ones have no sentAt and stay until looked at
+    @Indexed(expireAfter = "7d")
+    private LocalDateTime sentAt;
+    private String lastError;
+}
@@ -0,0 +1,25 @@
+package com.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Persisted PNR sequence of one node. Nodes reserve blocks of sequence numbers from it,
+ * so a restarted node never reuses a sequence it handed out before.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "pnr_sequences")
+public class PnrSequence {
+
+    @Id
+    private String id; // node id
+
+    private long next; // first sequence number not yet reserved
+}
@@ -0,0 +1,36 @@
+package com.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "seat_holds")
+public class SeatHold {
+
+    @Id
+    private String id;
+
+    @Indexed
+    private String flightId;
+
+    private List<String> seatNumbers;
+    private String contactEmail;
+
+    private LocalDateTime createdAt;
+
+    // Instant rather than LocalDateTime so the TTL index compares against UTC correctly
+    @Indexed(expireAfterSeconds = 0) // expireAfter = "0s" would be dropped as a zero duration
+    private Instant expiresAt;
+}
@@ -0,0 +1,144 @@
+package com.model;
+
+import com.util.SeatBitmap;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable seat layout shared by every flight with the same configuration.
+ * Seat attributes are stored once, indexed by grid slot; each flight only
+ * keeps a bitmap of which slots are unavailable. Everything a new flight or a seat map
+ * needs is worked out here once, so per-flight work is copying arrays.
+ */
+public final class SeatLayout {
+
+    private final String key;
+    private final int totalSeats;
+    private final String[] seatClasses;
+    private final String[] seatTypes;
+    private final double[] extraCharges;
+
+    // Templates for seat maps and new flights; copied, never handed out
+    private final String[] seatNumbers;
+    private final Double[] boxedCharges;
+    private final long[] emptyBitmap;
+    private final Map<String, Integer> seatsByCabin;
+
+    private SeatLayout(String key, int gridSize, List<Seat> seats) {
+        this.key = key;
+        this.totalSeats = seats.size();
+        this.seatClasses = new String[gridSize];
+        this.seatTypes = new String[gridSize];
+        this.extraCharges = new double[gridSize];
+        this.seatNumbers = new String[gridSize];
+        this.boxedCharges = new Double[gridSize];
+        this.seatsByCabin = new HashMap<>();
+
+        for (Seat seat : seats) {
+            int slot = SeatBitmap.slotOf(seat.getSeatNumber());
+            seatClasses[slot] = seat.getSeatClass();
+            seatTypes[slot] = seat.getSeatType();
+            extraCharges[slot] = seat.getExtraCharge();
+            seatNumbers[slot] = seat.getSeatNumber();
+            boxedCharges[slot] = seat.getExtraCharge();
+            seatsByCabin.merge(seat.getSeatClass(), 1, Integer::sum);
+        }
+
+        List<Long> bitmap = SeatBitmap.allBooked(gridSize);
+        for (int slot = 0; slot < gridSize; slot++) {
+            if (seatClasses[slot] != null) {
+                SeatBitmap.markFree(bitmap, slot);
+            }
+        }
+        this.emptyBitmap = bitmap.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /**
+     * Build a layout from a generated seat list
+     */
+    public static SeatLayout of(String key, List<Seat> seats) {
+        int gridSize = seats.stream()
+                .mapToInt(seat -> SeatBitmap.slotOf(seat.getSeatNumber()) + 1)
+                .max()
+                .orElse(0);
+
+        return new SeatLayout(key, gridSize, seats);
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public int getTotalSeats() {
+        return totalSeats;
+    }
+
+    public int getGridSize() {
+        return seatClasses.length;
+    }
+
+    public boolean hasSeat(int slot) {
+        return slot >= 0 && slot < seatClasses.length && seatClasses[slot] != null;
+    }
+
+    public String seatClass(int slot) {
+        return seatClasses[slot];
+    }
+
+    public double extraCharge(int slot) {
+        return extraCharges[slot];
+    }
+
+    /**
+     * Free seats per seat class for the given bitmap; a new flight's counters come from its empty bitmap
+     */
+    public Map<String, Integer> availableSeatsByCabin(List<Long> bitmap) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (int slot = 0; slot < seatClasses.length; slot++) {
+            if (seatClasses[slot] != null) {
+                counts.merge(seatClasses[slot], SeatBitmap.isFree(bitmap, slot) ? 1 : 0, Integer::sum);
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Bitmap for a new flight: every seat free, every unused grid slot blocked
+     */
+    public List<Long> emptyBitmap() {
+        List<Long> bitmap = new ArrayList<>(emptyBitmap.length);
+        for (long word : emptyBitmap) {
+            bitmap.add(word);
+        }
+        return bitmap;
+    }
+
+    /**
+     * Seats per seat class; the cabin counters of a new flight
+     */
+    public Map<String, Integer> emptyCabinCounts() {
+        return new HashMap<>(seatsByCabin);
+    }
+
+    /**
+     * Join the layout with a flight's bitmap into a seat map
+     */
+    public List<Seat> toSeatMap(List<Long> bitmap) {
+        List<Seat> seats = new ArrayList<>(totalSeats);
+        for (int slot = 0; slot < seatClasses.length; slot++) {
+            if (seatClasses[slot] != null) {
+                seats.add(Seat.builder()
+                        .seatNumber(seatNumbers[slot])
+                        .seatClass(seatClasses[slot])
+                        .isAvailable(SeatBitmap.isFree(bitmap, slot))
+                        .seatType(seatTypes[slot])
+                        .extraCharge(boxedCharges[slot])
+                        .build());
+            }
+        }
+        return seats;
+    }
+}
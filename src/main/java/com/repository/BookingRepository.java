@@ -7,7 +7,7 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 @Repository
-public interface BookingRepository extends ReactiveMongoRepository<Booking, String> {
+public interface BookingRepository extends ReactiveMongoRepository<Booking, String>, BookingRepositoryCustom {
 
     Mono<Booking> findByPnr(String pnr);
 
@@ -0,0 +1,28 @@
+package com.repository;
+
+import com.model.Booking;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Booking queries that Spring Data cannot derive.
+ */
+public interface BookingRepositoryCustom {
+
+    /**
+     * One page of a contact's bookings, newest first, using keyset pagination on
+     * (bookingDateTime, id) so every page costs the same regardless of its depth.
+     * @param afterBookingDateTime booking time of the last booking on the previous page, null for the first page
+     * @param afterId id of the last booking on the previous page, null for the first page
+     */
+    Flux<Booking> findHistoryPage(String contactEmail, LocalDateTime afterBookingDateTime, String afterId, int limit);
+
+    /**
+     * Move a confirmed booking to CANCELLED in one atomic step, so only one of
+     * several concurrent cancellations wins
+     * @return the cancelled booking, or empty if it was not CONFIRMED
+     */
+    Mono<Booking> cancelIfConfirmed(String bookingId, LocalDateTime cancelledAt, String reason, double refundAmount);
+}
@@ -0,0 +1,53 @@
+package com.repository;
+
+import com.model.Booking;
+import com.util.Constants;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+@RequiredArgsConstructor
+public class BookingRepositoryCustomImpl implements BookingRepositoryCustom {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    @Override
+    public Flux<Booking> findHistoryPage(String contactEmail, LocalDateTime afterBookingDateTime, String afterId, int limit) {
+        Criteria criteria = Criteria.where("contactEmail").is(contactEmail);
+
+        // Seek past the previous page; id breaks ties between bookings made in the same instant
+        if (afterBookingDateTime != null) {
+            criteria.orOperator(
+                    Criteria.where("bookingDateTime").lt(afterBookingDateTime),
+                    Criteria.where("bookingDateTime").is(afterBookingDateTime).and("id").lt(afterId)
+            );
+        }
+
+        // Served by email_booked_idx in index order, so no in-memory sort
+        Query query = Query.query(criteria)
+                .with(Sort.by(Sort.Direction.DESC, "bookingDateTime", "id"))
+                .limit(limit);
+
+        return mongoTemplate.find(query, Booking.class);
+    }
+
+    @Override
+    public Mono<Booking> cancelIfConfirmed(String bookingId, LocalDateTime cancelledAt, String reason, double refundAmount) {
+        Query query = Query.query(Criteria.where("id").is(bookingId).and("status").is(Constants.STATUS_CONFIRMED));
+        Update update = new Update()
+                .set("status", Constants.STATUS_CANCELLED)
+                .set("cancellationDateTime", cancelledAt)
+                .set("cancellationReason", reason)
+                .set("refundAmount", refundAmount);
+
+        return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), Booking.class);
+    }
+}
@@ -9,7 +9,7 @@ import reactor.core.publisher.Mono;
 import java.time.LocalDateTime;
 
 @Repository
-public interface FlightRepository extends ReactiveMongoRepository<Flight, String> {
+public interface FlightRepository extends ReactiveMongoRepository<Flight, String>, FlightRepositoryCustom {
 
     Flux<Flight> findByOriginAndDestinationAndDepartureDateTimeBetween(
             String origin,
@@ -25,6 +25,8 @@ public interface FlightRepository extends ReactiveMongoRepository<Flight, String
 
     Flux<Flight> findByAirlineCode(String airlineCode);
 
+    Flux<Flight> findByScheduleId(String scheduleId);
+
     Flux<Flight> findByOriginAndDestination(String origin, String destination);
 
     Mono<Boolean> existsByFlightNumberAndDepartureDateTime(
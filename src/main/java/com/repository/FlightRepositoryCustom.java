@@ -0,0 +1,100 @@
+package com.repository;
+
+import com.model.DailyFare;
+import com.model.Flight;
+import com.model.FlightSummary;
+import com.model.SeatLayout;
+import com.util.SeatIndex;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Targeted seat/availability updates and projected reads that Spring Data cannot derive.
+ * Each update is a single conditional update on the flight document, so
+ * concurrent bookings on the same flight can never double-sell a seat.
+ */
+public interface FlightRepositoryCustom {
+
+    /**
+     * Mark the given seats as booked if, and only if, all of them are still available,
+     * decrementing the per-cabin counters of the flight's layout in the same update.
+     * @return the updated flight, or empty if the flight does not exist, has another layout or any seat is taken
+     */
+    Mono<Flight> reserveSeats(String flightId, SeatIndex seats, SeatLayout layout);
+
+    /**
+     * Mark the given seats as available again if all of them are currently booked,
+     * incrementing the per-cabin counters in the same update.
+     * @return true if the seats were released
+     */
+    Mono<Boolean> releaseSeats(String flightId, SeatIndex seats, SeatLayout layout);
+
+    /**
+     * Load only the fields that identify a flight's seat layout
+     */
+    Mono<Flight> findSeatLayoutFields(String flightId);
+
+    /**
+     * Check that every given seat is currently available without loading the flight
+     */
+    Mono<Boolean> areSeatsAvailable(String flightId, SeatIndex seats);
+
+    /**
+     * Search summaries of flights on a route departing in the given window with at least
+     * {@code minSeats} seats left, ordered by departure. Only summary fields are read.
+     */
+    Flux<FlightSummary> searchSummaries(String origin, String destination,
+                                        LocalDateTime departureFrom, LocalDateTime departureTo,
+                                        int minSeats);
+
+    /**
+     * Lowest fare, flight count and seats per departure day for a route, over flights departing
+     * in [{@code departureFrom}, {@code departureTo}) with at least {@code minSeats} seats left.
+     * Computed in one aggregation; days without such flights are not returned.
+     */
+    Flux<DailyFare> aggregateDailyFares(String origin, String destination,
+                                        LocalDateTime departureFrom, LocalDateTime departureTo,
+                                        int minSeats);
+
+    /**
+     * Summaries of every flight departing at or after the given time, for in-memory indexes
+     */
+    Flux<FlightSummary> findSummariesDepartingAfter(LocalDateTime departureFrom);
+
+    /**
+     * Search projection of the given flights, in no particular order
+     */
+    Flux<FlightSummary> findSummariesByIds(Collection<String> flightIds);
+
+    /**
+     * Insert the flights with one unordered bulk write; a rejected flight, e.g. one that
+     * already exists, does not stop the others
+     * @return error message per rejected flight, keyed by its index in {@code flights}
+     */
+    Mono<Map<Integer, String>> insertAll(List<Flight> flights);
+
+    /**
+     * Apply the update unless the flight was written since it was read; every write,
+     * bookings included, moves updatedAt
+     * @return false if the flight changed or no longer exists
+     */
+    Mono<Boolean> updateIfUnchanged(String flightId, LocalDateTime readUpdatedAt, Update update);
+
+    /**
+     * Apply a targeted update to the flight, leaving every other field as stored
+     * @return false if the flight no longer exists
+     */
+    Mono<Boolean> updateFields(String flightId, Update update);
+
+    /**
+     * Delete the flight only while no seat of it is sold
+     * @return true if the flight was deleted
+     */
+    Mono<Boolean> deleteIfUnsold(String flightId);
+}
@@ -0,0 +1,243 @@
+package com.repository;
+
+import com.model.DailyFare;
+import com.model.Flight;
+import com.model.FlightSummary;
+import com.model.SeatLayout;
+import com.util.DateTimeUtil;
+import com.util.SeatBitmap;
+import com.util.SeatIndex;
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoBulkWriteException;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.aggregation.DateOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@RequiredArgsConstructor
+public class FlightRepositoryCustomImpl implements FlightRepositoryCustom {
+
+    private static final String SEAT_BITMAP = "seatBitmap";
+    private static final String CABIN_COUNTERS = "availableSeatsByCabin";
+
+    private static final String[] SUMMARY_FIELDS = {
+            "flightNumber", "airlineCode", "airlineName", "airlineLogoUrl",
+            "origin", "destination", "departureDateTime", "arrivalDateTime", "duration",
+            "aircraftType", "availableSeats", CABIN_COUNTERS, "baseFare", "currency"
+    };
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    @Override
+    public Mono<Flight> reserveSeats(String flightId, SeatIndex seats, SeatLayout layout) {
+        if (!seats.isValid()) {
+            return Mono.empty();
+        }
+
+        // The layout decides which cabin counters move, so it must be the flight's own
+        Criteria criteria = Criteria.where("id").is(flightId)
+                .and("seatLayoutKey").is(layout.getKey())
+                .and("availableSeats").gte(seats.size());
+        Update update = new Update()
+                .inc("availableSeats", -seats.size())
+                .set("updatedAt", DateTimeUtil.getCurrentTimestamp());
+
+        seats.countByCabin(layout).forEach((cabin, count) -> update.inc(CABIN_COUNTERS + "." + cabin, -count));
+
+        for (int i = 0; i < seats.maskCount(); i++) {
+            String word = SEAT_BITMAP + "." + seats.maskWord(i);
+            criteria.and(word).bits().allClear(SeatBitmap.bitPositions(seats.mask(i)));
+            update.bitwise(word).or(seats.mask(i));
+        }
+
+        return mongoTemplate.findAndModify(Query.query(criteria), update,
+                FindAndModifyOptions.options().returnNew(true), Flight.class);
+    }
+
+    @Override
+    public Mono<Boolean> releaseSeats(String flightId, SeatIndex seats, SeatLayout layout) {
+        if (!seats.isValid()) {
+            return Mono.just(false);
+        }
+
+        Criteria criteria = Criteria.where("id").is(flightId)
+                .and("seatLayoutKey").is(layout.getKey());
+        Update update = new Update()
+                .inc("availableSeats", seats.size())
+                .set("updatedAt", DateTimeUtil.getCurrentTimestamp());
+
+        seats.countByCabin(layout).forEach((cabin, count) -> update.inc(CABIN_COUNTERS + "." + cabin, count));
+
+        for (int i = 0; i < seats.maskCount(); i++) {
+            String word = SEAT_BITMAP + "." + seats.maskWord(i);
+            criteria.and(word).bits().allSet(SeatBitmap.bitPositions(seats.mask(i)));
+            update.bitwise(word).and(~seats.mask(i));
+        }
+
+        return mongoTemplate.updateFirst(Query.query(criteria), update, Flight.class)
+                .map(result -> result.getModifiedCount() > 0);
+    }
+
+    @Override
+    public Mono<Flight> findSeatLayoutFields(String flightId) {
+        Query query = Query.query(Criteria.where("id").is(flightId));
+        query.fields().include("seatLayoutKey", "totalSeats");
+
+        return mongoTemplate.findOne(query, Flight.class);
+    }
+
+    @Override
+    public Mono<Boolean> areSeatsAvailable(String flightId, SeatIndex seats) {
+        if (!seats.isValid()) {
+            return Mono.just(false);
+        }
+
+        Criteria criteria = Criteria.where("id").is(flightId);
+        for (int i = 0; i < seats.maskCount(); i++) {
+            criteria.and(SEAT_BITMAP + "." + seats.maskWord(i)).bits().allClear(SeatBitmap.bitPositions(seats.mask(i)));
+        }
+
+        return mongoTemplate.exists(Query.query(criteria), Flight.class);
+    }
+
+    @Override
+    public Flux<FlightSummary> searchSummaries(String origin, String destination,
+                                               LocalDateTime departureFrom, LocalDateTime departureTo,
+                                               int minSeats) {
+        // Equality on origin/destination plus the departure range is served by route_date_idx
+        Query query = Query.query(Criteria.where("origin").is(origin)
+                        .and("destination").is(destination)
+                        .and("departureDateTime").gte(departureFrom).lte(departureTo)
+                        .and("availableSeats").gte(minSeats))
+                .with(Sort.by("departureDateTime"));
+        query.fields().include(SUMMARY_FIELDS);
+
+        return mongoTemplate.find(query, FlightSummary.class, mongoTemplate.getCollectionName(Flight.class));
+    }
+
+    @Override
+    public Flux<FlightSummary> findSummariesDepartingAfter(LocalDateTime departureFrom) {
+        Query query = Query.query(Criteria.where("departureDateTime").gte(departureFrom));
+        query.fields().include(SUMMARY_FIELDS);
+
+        return mongoTemplate.find(query, FlightSummary.class, mongoTemplate.getCollectionName(Flight.class));
+    }
+
+    @Override
+    public Flux<FlightSummary> findSummariesByIds(Collection<String> flightIds) {
+        Query query = Query.query(Criteria.where("id").in(flightIds));
+        query.fields().include(SUMMARY_FIELDS);
+
+        return mongoTemplate.find(query, FlightSummary.class, mongoTemplate.getCollectionName(Flight.class));
+    }
+
+    @Override
+    public Flux<DailyFare> aggregateDailyFares(String origin, String destination,
+                                               LocalDateTime departureFrom, LocalDateTime departureTo,
+                                               int minSeats) {
+        // LocalDateTime is stored as a Date in the server's zone, so days are cut in that zone too
+        DateOperators.Timezone zone = DateOperators.Timezone.valueOf(ZoneId.systemDefault().getId());
+
+        Aggregation aggregation = Aggregation.newAggregation(
+                // Served by route_date_idx
+                Aggregation.match(Criteria.where("origin").is(origin)
+                        .and("destination").is(destination)
+                        .and("departureDateTime").gte(departureFrom).lt(departureTo)
+                        .and("availableSeats").gte(minSeats)),
+                Aggregation.project("baseFare", "availableSeats", "currency")
+                        .and(DateOperators.DateToString.dateOf("departureDateTime")
+                                .toString("%Y-%m-%d").withTimezone(zone)).as("day"),
+                Aggregation.group("day")
+                        .min("baseFare").as("lowestFare")
+                        .count().as("flights")
+                        .sum("availableSeats").as("availableSeats")
+                        .first("currency").as("currency"),
+                Aggregation.sort(Sort.by("_id"))
+        );
+
+        return mongoTemplate.aggregate(aggregation, mongoTemplate.getCollectionName(Flight.class), Document.class)
+                .map(day -> DailyFare.builder()
+                        .date(LocalDate.parse(day.getString("_id")))
+                        .lowestFare(day.get("lowestFare", Number.class).doubleValue())
+                        .currency(day.getString("currency"))
+                        .flights(day.get("flights", Number.class).intValue())
+                        .availableSeats(day.get("availableSeats", Number.class).intValue())
+                        .build());
+    }
+
+    @Override
+    public Mono<Map<Integer, String>> insertAll(List<Flight> flights) {
+        if (flights.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+
+        return mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Flight.class)
+                .insert(flights)
+                .execute()
+                .<Map<Integer, String>>map(result -> Map.of())
+                .onErrorResume(error -> {
+                    MongoBulkWriteException bulkError = findBulkWriteException(error);
+                    if (bulkError == null) {
+                        return Mono.error(error);
+                    }
+
+                    return Mono.just(bulkError.getWriteErrors().stream()
+                            .collect(Collectors.toMap(
+                                    writeError -> writeError.getIndex(),
+                                    writeError -> writeError.getCategory() == ErrorCategory.DUPLICATE_KEY
+                                            ? "Flight already exists for this airline, flight number and departure"
+                                            : writeError.getMessage(),
+                                    (first, second) -> first)));
+                });
+    }
+
+    @Override
+    public Mono<Boolean> updateIfUnchanged(String flightId, LocalDateTime readUpdatedAt, Update update) {
+        Query query = Query.query(Criteria.where("id").is(flightId).and("updatedAt").is(readUpdatedAt));
+
+        return mongoTemplate.updateFirst(query, update, Flight.class)
+                .map(result -> result.getMatchedCount() > 0);
+    }
+
+    @Override
+    public Mono<Boolean> updateFields(String flightId, Update update) {
+        return mongoTemplate.updateFirst(Query.query(Criteria.where("id").is(flightId)), update, Flight.class)
+                .map(result -> result.getMatchedCount() > 0);
+    }
+
+    @Override
+    public Mono<Boolean> deleteIfUnsold(String flightId) {
+        Query query = Query.query(Criteria.where("id").is(flightId)
+                .andOperator(Criteria.expr(ComparisonOperators.valueOf("availableSeats").equalTo("totalSeats"))));
+
+        return mongoTemplate.remove(query, Flight.class)
+                .map(result -> result.getDeletedCount() > 0);
+    }
+
+    private static MongoBulkWriteException findBulkWriteException(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof MongoBulkWriteException bulkError) {
+                return bulkError;
+            }
+        }
+        return null;
+    }
+}
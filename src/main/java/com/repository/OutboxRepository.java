@@ -0,0 +1,9 @@
+package com.repository;
+
+import com.model.OutboxMessage;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface OutboxRepository extends ReactiveMongoRepository<OutboxMessage, String>, OutboxRepositoryCustom {
+}
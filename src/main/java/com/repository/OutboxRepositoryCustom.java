@@ -0,0 +1,32 @@
+package com.repository;
+
+import com.model.OutboxMessage;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+public interface OutboxRepositoryCustom {
+
+    /**
+     * Claim up to {@code limit} messages that are due, or whose previous claim expired,
+     * so no other dispatcher sends them
+     * @return the claimed messages, carrying the new claim token
+     */
+    Flux<OutboxMessage> claimDue(LocalDateTime now, LocalDateTime claimExpiredBefore, int limit);
+
+    /**
+     * @return false if the claim was lost to another dispatcher
+     */
+    Mono<Boolean> markSent(String id, String claimToken, LocalDateTime sentAt);
+
+    /**
+     * Count a failed attempt and hand the message back for another attempt at {@code nextAttemptAt}
+     */
+    Mono<Boolean> reschedule(String id, String claimToken, LocalDateTime nextAttemptAt, String error);
+
+    /**
+     * Count a failed attempt and stop sending the message, with status FAILED or DISCARDED
+     */
+    Mono<Boolean> close(String id, String claimToken, String status, String error);
+}
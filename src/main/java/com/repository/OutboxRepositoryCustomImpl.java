@@ -0,0 +1,90 @@
+package com.repository;
+
+import com.model.OutboxMessage;
+import com.util.Constants;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+public class OutboxRepositoryCustomImpl implements OutboxRepositoryCustom {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    @Override
+    public Flux<OutboxMessage> claimDue(LocalDateTime now, LocalDateTime claimExpiredBefore, int limit) {
+        Criteria due = new Criteria().orOperator(
+                Criteria.where("status").is(Constants.OUTBOX_PENDING).and("nextAttemptAt").lte(now),
+                // Claimed by a dispatcher that died before finishing
+                Criteria.where("status").is(Constants.OUTBOX_SENDING).and("claimedAt").lt(claimExpiredBefore)
+        );
+
+        Query candidates = Query.query(due)
+                .with(Sort.by(Sort.Direction.ASC, "nextAttemptAt"))
+                .limit(limit);
+        candidates.fields().include("id");
+
+        String claimToken = UUID.randomUUID().toString();
+
+        // Three round trips per batch instead of one findAndModify per message; the due
+        // criteria are repeated in the update so a message claimed meanwhile is skipped
+        return mongoTemplate.find(candidates, OutboxMessage.class)
+                .map(OutboxMessage::getId)
+                .collectList()
+                .filter(ids -> !ids.isEmpty())
+                .flatMap(ids -> mongoTemplate.updateMulti(
+                        Query.query(new Criteria().andOperator(Criteria.where("id").in(ids), due)),
+                        new Update()
+                                .set("status", Constants.OUTBOX_SENDING)
+                                .set("claimToken", claimToken)
+                                .set("claimedAt", now),
+                        OutboxMessage.class))
+                .flatMapMany(result -> mongoTemplate.find(
+                        Query.query(Criteria.where("claimToken").is(claimToken)),
+                        OutboxMessage.class));
+    }
+
+    @Override
+    public Mono<Boolean> markSent(String id, String claimToken, LocalDateTime sentAt) {
+        return updateClaimed(id, claimToken, new Update()
+                .set("status", Constants.OUTBOX_SENT)
+                .set("sentAt", sentAt)
+                .inc("attempts", 1)
+                .unset("claimToken")
+                .unset("lastError"));
+    }
+
+    @Override
+    public Mono<Boolean> reschedule(String id, String claimToken, LocalDateTime nextAttemptAt, String error) {
+        return updateClaimed(id, claimToken, new Update()
+                .set("status", Constants.OUTBOX_PENDING)
+                .set("nextAttemptAt", nextAttemptAt)
+                .set("lastError", error)
+                .inc("attempts", 1)
+                .unset("claimToken"));
+    }
+
+    @Override
+    public Mono<Boolean> close(String id, String claimToken, String status, String error) {
+        return updateClaimed(id, claimToken, new Update()
+                .set("status", status)
+                .set("lastError", error)
+                .inc("attempts", 1)
+                .unset("claimToken"));
+    }
+
+    private Mono<Boolean> updateClaimed(String id, String claimToken, Update update) {
+        Query query = Query.query(Criteria.where("id").is(id).and("claimToken").is(claimToken));
+
+        return mongoTemplate.updateFirst(query, update, OutboxMessage.class)
+                .map(result -> result.getModifiedCount() > 0);
+    }
+}
@@ -0,0 +1,9 @@
+package com.repository;
+
+import com.model.PnrSequence;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PnrSequenceRepository extends ReactiveMongoRepository<PnrSequence, String>, PnrSequenceRepositoryCustom {
+}
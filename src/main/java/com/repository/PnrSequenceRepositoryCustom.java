@@ -0,0 +1,12 @@
+package com.repository;
+
+import reactor.core.publisher.Mono;
+
+public interface PnrSequenceRepositoryCustom {
+
+    /**
+     * Atomically reserve the next {@code blockSize} sequence numbers of a node
+     * @return the first sequence number of the reserved block
+     */
+    Mono<Long> reserveBlock(String nodeId, int blockSize);
+}
@@ -0,0 +1,26 @@
+package com.repository;
+
+import com.model.PnrSequence;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Mono;
+
+@RequiredArgsConstructor
+public class PnrSequenceRepositoryCustomImpl implements PnrSequenceRepositoryCustom {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    @Override
+    public Mono<Long> reserveBlock(String nodeId, int blockSize) {
+        return mongoTemplate.findAndModify(
+                        Query.query(Criteria.where("id").is(nodeId)),
+                        new Update().inc("next", blockSize),
+                        FindAndModifyOptions.options().upsert(true).returnNew(true),
+                        PnrSequence.class)
+                .map(sequence -> sequence.getNext() - blockSize);
+    }
+}
@@ -0,0 +1,14 @@
+package com.repository;
+
+import com.model.SeatHold;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.time.Instant;
+
+@Repository
+public interface SeatHoldRepository extends ReactiveMongoRepository<SeatHold, String>, SeatHoldRepositoryCustom {
+
+    Flux<SeatHold> findByExpiresAtAfter(Instant instant);
+}
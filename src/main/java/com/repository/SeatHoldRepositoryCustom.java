@@ -0,0 +1,14 @@
+package com.repository;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+public interface SeatHoldRepositoryCustom {
+
+    /**
+     * Move the expiry of a stored hold; never recreates a hold that was released meanwhile
+     * @return false if the hold no longer exists
+     */
+    Mono<Boolean> extendIfPresent(String holdId, Instant expiresAt);
+}
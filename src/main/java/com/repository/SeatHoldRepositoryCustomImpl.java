@@ -0,0 +1,26 @@
+package com.repository;
+
+import com.model.SeatHold;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+@RequiredArgsConstructor
+public class SeatHoldRepositoryCustomImpl implements SeatHoldRepositoryCustom {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    @Override
+    public Mono<Boolean> extendIfPresent(String holdId, Instant expiresAt) {
+        return mongoTemplate.updateFirst(
+                        Query.query(Criteria.where("id").is(holdId)),
+                        new Update().set("expiresAt", expiresAt),
+                        SeatHold.class)
+                .map(result -> result.getMatchedCount() > 0);
+    }
+}
@@ -1,6 +1,7 @@
 package com.service;
 
 import com.dto.request.BookingRequest;
+import com.dto.response.BookingHistoryPage;
 import com.dto.response.BookingResponse;
 import com.dto.response.CancellationResponse;
 import com.dto.response.TicketResponse;
@@ -11,5 +12,6 @@ public interface BookingService {
     Mono<BookingResponse> createBooking(BookingRequest request);
     Mono<TicketResponse> getBookingByPnr(String pnr);
     Flux<BookingResponse> getBookingHistory(String email);
+    Mono<BookingHistoryPage> getBookingHistoryPage(String email, String cursor, int limit);
     Mono<CancellationResponse> cancelBooking(String pnr);
 }
\ No newline at end of file
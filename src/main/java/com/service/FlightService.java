@@ -1,14 +1,24 @@
 package com.service;
 
 import com.dto.request.FlightSearchRequest;
+import com.dto.response.ConnectionItinerary;
+import com.dto.response.FareCalendarResponse;
 import com.dto.response.FlightSearchResponse;
+import com.dto.response.RoundTripOption;
 import com.model.Flight;
+import com.model.Seat;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDate;
+import java.util.List;
+
 public interface FlightService {
     Flux<FlightSearchResponse> searchFlights(FlightSearchRequest request);
+    Flux<RoundTripOption> searchRoundTrip(FlightSearchRequest request);
+    Flux<ConnectionItinerary> searchConnections(FlightSearchRequest request);
+    Mono<FareCalendarResponse> getFareCalendar(String origin, String destination, LocalDate date, int flexDays, int passengers);
     Mono<Flight> getFlightById(String flightId);
+    Mono<List<Seat>> getSeatMap(String flightId);
     Mono<Flight> saveFlight(Flight flight);
-    Mono<Flight> updateFlightSeats(String flightId, int seatsToBook);
 }
\ No newline at end of file
@@ -1,10 +1,18 @@
 package com.service;
 
 import com.dto.request.InventoryRequest;
+import com.dto.request.ScheduleRequest;
 import com.dto.response.ApiResponse;
+import com.dto.response.InventoryImportResult;
+import com.dto.response.ScheduleResponse;
+import org.springframework.core.io.buffer.DataBuffer;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 public interface InventoryService {
     Mono<ApiResponse<String>> addFlightInventory(InventoryRequest request);
     Mono<ApiResponse<String>> updateFlightInventory(String inventoryId, InventoryRequest request);
+    Flux<InventoryImportResult> importFlightInventory(Flux<DataBuffer> body, boolean csv);
+    Mono<ApiResponse<ScheduleResponse>> createSchedule(ScheduleRequest request);
+    Mono<ApiResponse<ScheduleResponse>> updateSchedule(String scheduleId, ScheduleRequest request);
 }
\ No newline at end of file
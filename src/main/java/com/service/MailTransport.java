@@ -0,0 +1,12 @@
+package com.service;
+
+import com.model.EmailMessage;
+import reactor.core.publisher.Mono;
+
+/**
+ * Delivers composed emails to a relay. Sends may be repeated after a failure,
+ * so relays should drop duplicates by message id.
+ */
+public interface MailTransport {
+    Mono<Void> send(EmailMessage message);
+}
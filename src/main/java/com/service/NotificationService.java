@@ -0,0 +1,10 @@
+package com.service;
+
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+public interface NotificationService {
+    Mono<Void> enqueue(String type, String bookingId);
+    Mono<Void> enqueueAll(String type, List<String> bookingIds);
+}
@@ -0,0 +1,12 @@
+package com.service;
+
+import com.dto.request.SeatHoldRequest;
+import com.dto.response.SeatHoldResponse;
+import reactor.core.publisher.Mono;
+
+public interface SeatHoldService {
+    Mono<SeatHoldResponse> holdSeats(SeatHoldRequest request);
+    Mono<SeatHoldResponse> getHold(String holdId);
+    Mono<SeatHoldResponse> extendHold(String holdId);
+    Mono<SeatHoldResponse> releaseHold(String holdId);
+}
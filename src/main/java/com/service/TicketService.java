@@ -1,10 +1,13 @@
 package com.service;
 
 import com.dto.response.TicketResponse;
+import org.springframework.core.io.buffer.DataBuffer;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 public interface TicketService {
     Mono<TicketResponse> getTicketByPnr(String pnr);
-    Mono<byte[]> downloadTicketPdf(String pnr);
+    Mono<Flux<DataBuffer>> downloadTicketPdf(String pnr);
+    Mono<Flux<DataBuffer>> exportFlightTickets(String flightId);
     Mono<String> resendTicketEmail(String pnr);
 }
\ No newline at end of file
@@ -0,0 +1,348 @@
+package com.service.impl;
+
+import com.cache.SeatLayoutCatalogue;
+import com.dto.request.BookingRequest;
+import com.exception.FlightNotFoundException;
+import com.exception.SeatUnavailableException;
+import com.model.Booking;
+import com.model.Flight;
+import com.model.Passenger;
+import com.repository.BookingRepository;
+import com.repository.FlightRepository;
+import com.service.NotificationService;
+import com.service.PNRGeneratorService;
+import com.util.Constants;
+import com.util.DateTimeUtil;
+import com.util.FlightBookingMapper;
+import com.util.SeatIndex;
+import com.validator.BookingValidator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Groups concurrent bookings for the same flight into one seat update and one insertMany.
+ * Every flight gets a lock-free mailbox with a single writer: while one batch is being
+ * committed, new requests queue up and are committed together in the next batch, so a
+ * hot flight's throughput grows with batch size instead of with Mongo round-trip latency.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BookingCoalescer {
+
+    private static final int PNR_ALLOCATION_RETRIES = 5;
+
+    private final FlightRepository flightRepository;
+    private final BookingRepository bookingRepository;
+    private final BookingValidator bookingValidator;
+    private final PNRGeneratorService pnrGeneratorService;
+    private final SeatLayoutCatalogue seatLayoutCatalogue;
+    private final NotificationService notificationService;
+
+    @Value("${app.booking.coalescer.window-ms:2}")
+    private long windowMillis;
+
+    @Value("${app.booking.coalescer.max-batch-size:64}")
+    private int maxBatchSize;
+
+    private final Map<String, Mailbox> mailboxes = new ConcurrentHashMap<>();
+
+    /**
+     * Queue a validated booking request and reserve its seats in the next batch for its flight
+     * @return the stored booking
+     */
+    public Mono<Booking> submit(BookingRequest request, SeatIndex seats) {
+        return Mono.defer(() -> {
+            PendingBooking pending = new PendingBooking(request, seats);
+            // Enqueued under the map lock, so a mailbox being retired never misses the request
+            Mailbox mailbox = mailboxes.compute(request.getFlightId(), (flightId, existing) -> {
+                Mailbox target = existing != null ? existing : new Mailbox(flightId);
+                target.queue.offer(pending);
+                return target;
+            });
+            drain(mailbox);
+
+            return pending.result.asMono();
+        });
+    }
+
+    /**
+     * Start a batch for the mailbox unless one is already running
+     */
+    private void drain(Mailbox mailbox) {
+        if (!mailbox.draining.compareAndSet(false, true)) {
+            return;
+        }
+
+        Mono.delay(Duration.ofMillis(windowMillis))
+                .then(Mono.defer(() -> commit(mailbox.flightId, mailbox.poll(maxBatchSize))))
+                .doFinally(signal -> {
+                    mailbox.draining.set(false);
+                    // Retire the mailbox only while nothing is queued and no other drain started,
+                    // checked under the same lock submit enqueues with, so one flight never has two writers
+                    mailboxes.compute(mailbox.flightId, (flightId, current) ->
+                            current == mailbox && mailbox.queue.isEmpty() && !mailbox.draining.get() ? null : current);
+                    if (!mailbox.queue.isEmpty()) {
+                        drain(mailbox);
+                    }
+                })
+                .subscribe();
+    }
+
+    /**
+     * Commit a batch; never fails, every outcome is delivered to the callers' sinks
+     */
+    private Mono<Void> commit(String flightId, List<PendingBooking> batch) {
+        if (batch.isEmpty()) {
+            return Mono.empty();
+        }
+
+        if (batch.size() == 1) {
+            return bookSingle(batch.get(0));
+        }
+
+        log.debug("Committing {} bookings for flight {} in one batch", batch.size(), flightId);
+
+        return flightRepository.findById(flightId)
+                .switchIfEmpty(Mono.error(new FlightNotFoundException(
+                        "Flight with ID " + flightId + " not found"
+                )))
+                .flatMap(flight -> commitBatch(flight, batch))
+                .onErrorResume(error -> {
+                    batch.forEach(pending -> pending.fail(error));
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * Validate the batch against an in-memory copy of the flight, then reserve every
+     * accepted seat with one conditional update and store the bookings with one insertMany
+     */
+    private Mono<Void> commitBatch(Flight flight, List<PendingBooking> batch) {
+        List<PendingBooking> accepted = new ArrayList<>();
+
+        for (PendingBooking pending : batch) {
+            try {
+                bookingValidator.validateBookingRequest(pending.request, pending.seats, flight);
+                markSeatsBooked(flight, pending.seats);
+                accepted.add(pending);
+            } catch (RuntimeException error) {
+                pending.fail(error);
+            }
+        }
+
+        if (accepted.isEmpty()) {
+            return Mono.empty();
+        }
+
+        SeatIndex seats = SeatIndex.concat(accepted.stream().map(pending -> pending.seats).toList());
+
+        return flightRepository.reserveSeats(flight.getId(), seats, seatLayoutCatalogue.forFlight(flight))
+                .flatMap(reserved -> {
+                    accepted.forEach(pending -> pending.booking = buildBooking(pending.request, pending.seats, reserved));
+                    return insertAll(accepted).thenReturn(true);
+                })
+                // The flight changed since it was read; settle each booking on its own
+                .switchIfEmpty(Flux.fromIterable(accepted).concatMap(this::bookSingle).then(Mono.just(false)))
+                .then();
+    }
+
+    /**
+     * Reserve seats and store one booking
+     */
+    private Mono<Void> bookSingle(PendingBooking pending) {
+        return seatLayoutCatalogue.forFlightId(pending.request.getFlightId())
+                .flatMap(layout -> flightRepository.reserveSeats(pending.request.getFlightId(), pending.seats, layout))
+                .switchIfEmpty(Mono.defer(() -> explainReservationFailure(pending)))
+                .flatMap(flight -> insertOrRelease(buildBooking(pending.request, pending.seats, flight), pending.seats))
+                .doOnNext(pending::complete)
+                .doOnError(pending::fail)
+                .onErrorResume(error -> Mono.empty())
+                .then();
+    }
+
+    /**
+     * Store the batch with one insertMany, falling back to single inserts if it is rejected
+     */
+    private Mono<Void> insertAll(List<PendingBooking> accepted) {
+        return Flux.fromIterable(accepted)
+                .concatMap(pending -> pnrGeneratorService.generateUniquePNR()
+                        .doOnNext(pnr -> pending.booking.setPnr(pnr))
+                        .thenReturn(pending.booking))
+                .collectList()
+                // Queue the confirmations first; the dispatcher waits for the bookings to land
+                .flatMap(bookings -> notificationService.enqueueAll(Constants.NOTIFICATION_BOOKING_CONFIRMED,
+                                bookings.stream().map(Booking::getId).toList())
+                        .thenReturn(bookings))
+                .flatMapMany(bookingRepository::insert)
+                .then(Mono.fromRunnable(() -> accepted.forEach(pending -> pending.complete(pending.booking))))
+                .onErrorResume(error -> {
+                    log.warn("Batch insert failed ({}), inserting bookings one by one", error.getMessage());
+                    return Flux.fromIterable(accepted)
+                            .concatMap(pending -> bookingRepository.existsById(pending.booking.getId())
+                                    .flatMap(exists -> Boolean.TRUE.equals(exists)
+                                            ? Mono.just(pending.booking)
+                                            : insertOrRelease(pending.booking, pending.seats))
+                                    .doOnNext(pending::complete)
+                                    .doOnError(pending::fail)
+                                    .onErrorResume(e -> Mono.empty()))
+                            .then();
+                })
+                .then();
+    }
+
+    /**
+     * Queue the confirmation and insert a booking whose seats are already reserved,
+     * giving the seats back on failure
+     */
+    private Mono<Booking> insertOrRelease(Booking booking, SeatIndex seats) {
+        return notificationService.enqueue(Constants.NOTIFICATION_BOOKING_CONFIRMED, booking.getId())
+                .then(insertWithUniquePnr(booking))
+                .onErrorResume(error -> seatLayoutCatalogue.forFlightId(booking.getFlightId())
+                        .flatMap(layout -> flightRepository.releaseSeats(booking.getFlightId(), seats, layout))
+                        .then(Mono.error(error)));
+    }
+
+    /**
+     * Insert the booking under a freshly allocated PNR, retrying with a new one
+     * if the unique index on pnr rejects it
+     */
+    private Mono<Booking> insertWithUniquePnr(Booking booking) {
+        return pnrGeneratorService.generateUniquePNR()
+                .flatMap(pnr -> {
+                    booking.setPnr(pnr);
+                    return bookingRepository.insert(booking);
+                })
+                .retryWhen(Retry.max(PNR_ALLOCATION_RETRIES)
+                        .filter(DuplicateKeyException.class::isInstance)
+                        .doBeforeRetry(signal -> log.debug("PNR {} already taken, allocating another",
+                                booking.getPnr()))
+                        .onRetryExhaustedThrow((spec, signal) -> signal.failure()));
+    }
+
+    /**
+     * Work out why a seat reservation matched nothing and raise the matching error
+     */
+    private Mono<Flight> explainReservationFailure(PendingBooking pending) {
+        return flightRepository.findById(pending.request.getFlightId())
+                .switchIfEmpty(Mono.error(new FlightNotFoundException(
+                        "Flight with ID " + pending.request.getFlightId() + " not found"
+                )))
+                .flatMap(flight -> {
+                    bookingValidator.validateBookingRequest(pending.request, pending.seats, flight);
+
+                    // Seats were free when re-read, so another booking won the race
+                    return Mono.error(new SeatUnavailableException(pending.request.getSeatNumbers()));
+                });
+    }
+
+    /**
+     * Apply an accepted booking to the in-memory flight so later requests in the batch see it
+     */
+    private void markSeatsBooked(Flight flight, SeatIndex seats) {
+        seats.markBooked(flight.getSeatBitmap());
+        flight.setAvailableSeats(flight.getAvailableSeats() - seats.size());
+    }
+
+    /**
+     * Build Booking entity from request
+     */
+    private Booking buildBooking(BookingRequest request, SeatIndex seats, Flight flight) {
+        List<Passenger> passengers = request.getPassengers().stream()
+                .map(passengerDto -> Passenger.builder()
+                        .name(passengerDto.getName())
+                        .gender(passengerDto.getGender())
+                        .age(passengerDto.getAge())
+                        .seatNumber(passengerDto.getSeatNumber())
+                        .mealPreference(passengerDto.getMealPreference())
+                        .build())
+                .toList();   // SonarQube compliant
+
+
+        double totalFare = calculateTotalFare(flight, seats);
+
+        // Id is assigned up front so a partially applied insertMany can be detected
+        return Booking.builder()
+                .id(new ObjectId().toHexString())
+                .flightId(flight.getId())
+                .flightNumber(flight.getFlightNumber())
+                .route(flight.getOrigin() + "-" + flight.getDestination())
+                .flightSnapshot(FlightBookingMapper.mapFlightSnapshot(flight))
+                .contactEmail(request.getContactEmail().toLowerCase())
+                .contactName(request.getContactName())
+                .passengers(passengers)
+                .seatNumbers(request.getSeatNumbers())
+                .totalFare(totalFare)
+                .currency(flight.getCurrency())
+                .status(Constants.STATUS_CONFIRMED)
+                .journeyDate(flight.getDepartureDateTime())
+                .bookingDateTime(DateTimeUtil.getCurrentTimestamp())
+                .build();
+    }
+
+    /**
+     * Calculate total fare including seat charges
+     */
+    private double calculateTotalFare(Flight flight, SeatIndex seats) {
+        double baseFare = flight.getBaseFare() * seats.size();
+        double seatCharges = seats.extraCharges(seatLayoutCatalogue.forFlight(flight));
+
+        return baseFare + seatCharges;
+    }
+
+    private static final class Mailbox {
+        private final String flightId;
+        private final Queue<PendingBooking> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Mailbox(String flightId) {
+            this.flightId = flightId;
+        }
+
+        private List<PendingBooking> poll(int max) {
+            List<PendingBooking> batch = new ArrayList<>();
+            PendingBooking pending;
+            while (batch.size() < max && (pending = queue.poll()) != null) {
+                batch.add(pending);
+            }
+            return batch;
+        }
+    }
+
+    private static final class PendingBooking {
+        private final BookingRequest request;
+        private final SeatIndex seats;
+        private final Sinks.One<Booking> result = Sinks.one();
+        private Booking booking;
+
+        private PendingBooking(BookingRequest request, SeatIndex seats) {
+            this.request = request;
+            this.seats = seats;
+        }
+
+        private void complete(Booking booking) {
+            result.tryEmitValue(booking);
+        }
+
+        private void fail(Throwable error) {
+            result.tryEmitError(error);
+        }
+    }
+}
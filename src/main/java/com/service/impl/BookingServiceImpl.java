@@ -1,19 +1,21 @@
 package com.service.impl;
 
+import com.cache.SeatLayoutCatalogue;
 import com.dto.request.BookingRequest;
 import com.dto.response.*;
 import com.exception.BookingNotFoundException;
+import com.exception.InvalidCancellationException;
+import com.exception.InvalidRequestException;
+import com.exception.SeatHoldNotFoundException;
 import com.model.Booking;
-import com.model.Flight;
-import com.model.Passenger;
-import com.model.Seat;
 import com.repository.BookingRepository;
 import com.repository.FlightRepository;
 import com.service.BookingService;
+import com.service.NotificationService;
+import com.service.SeatHoldService;
 import com.util.Constants;
 import com.util.DateTimeUtil;
-import com.util.FlightBookingMapper;
-import com.util.PNRGenerator;
+import com.util.SeatIndex;
 import com.validator.BookingValidator;
 import com.validator.CancellationValidator;
 import lombok.RequiredArgsConstructor;
@@ -22,6 +24,9 @@ import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
 import java.util.List;
 
 @Service
@@ -29,31 +34,34 @@ import java.util.List;
 @Slf4j
 public class BookingServiceImpl implements BookingService {
 
+    private static final int MAX_HISTORY_PAGE_SIZE = 100;
+
     private final BookingRepository bookingRepository;
     private final FlightRepository flightRepository;
     private final BookingValidator bookingValidator;
     private final CancellationValidator cancellationValidator;
+    private final SeatHoldService seatHoldService;
+    private final BookingCoalescer bookingCoalescer;
+    private final SeatLayoutCatalogue seatLayoutCatalogue;
+    private final TicketAssembler ticketAssembler;
+    private final NotificationService notificationService;
 
     @Override
     public Mono<BookingResponse> createBooking(BookingRequest request) {
         log.info("Creating booking for flight: {}", request.getFlightId());
 
-        return flightRepository.findById(request.getFlightId())
-                .flatMap(flight -> {
-                    // Validate booking request
-                    bookingValidator.validateBookingRequest(request, flight);
-
-                    // Create booking
-                    Booking booking = buildBooking(request, flight);
+        // Decode the seats once; validation, fares and seat updates all reuse it
+        SeatIndex seats = SeatIndex.of(request.getSeatNumbers());
 
-                    // Update seat availability
-                    updateSeats(flight, request.getSeatNumbers());
+        // Validate everything that does not need the flight document
+        bookingValidator.validateBookingRequest(request, seats);
 
-                    // Save flight and booking
-                    return flightRepository.save(flight)
-                            .then(bookingRepository.save(booking))
-                            .map(this::convertToBookingResponse);
-                })
+        // Reserve seats and store the booking, batched with concurrent bookings on the same flight
+        return bookingCoalescer.submit(request, seats)
+                // Clients usually fetch the ticket right away; serve it without another read
+                .flatMap(booking -> ticketAssembler.cacheTicket(booking).thenReturn(booking))
+                .map(this::convertToBookingResponse)
+                .flatMap(response -> completeSeatHold(request.getHoldId()).thenReturn(response))
                 .doOnSuccess(response -> log.info("Booking created successfully with PNR: {}", response.getPnr()))
                 .doOnError(error -> log.error("Error creating booking: {}", error.getMessage()));
     }
@@ -62,24 +70,48 @@ public class BookingServiceImpl implements BookingService {
     public Mono<TicketResponse> getBookingByPnr(String pnr) {
         log.info("Fetching booking with PNR: {}", pnr);
 
-        return bookingRepository.findByPnr(pnr.toUpperCase())
-                .switchIfEmpty(Mono.error(new BookingNotFoundException(pnr)))
-                .flatMap(booking ->
-                        flightRepository.findById(booking.getFlightId())
-                                .map(flight -> convertToTicketResponse(booking, flight))
-                );
+        return ticketAssembler.findTicket(pnr);
     }
 
     @Override
     public Flux<BookingResponse> getBookingHistory(String email) {
         log.info("Fetching booking history for email: {}", email);
 
+        // Served from the booking documents alone; the response carries no flight data
         return bookingRepository.findByContactEmailOrderByBookingDateTimeDesc(email.toLowerCase())
-                .flatMap(booking ->
-                        flightRepository.findById(booking.getFlightId())
-                                .map(flight -> convertToBookingResponse(booking))
-                )
-                .switchIfEmpty(Flux.empty());
+                .map(this::convertToBookingResponse);
+    }
+
+    @Override
+    public Mono<BookingHistoryPage> getBookingHistoryPage(String email, String cursor, int limit) {
+        log.info("Fetching booking history page for email: {}", email);
+
+        if (limit < 1 || limit > MAX_HISTORY_PAGE_SIZE) {
+            throw new InvalidRequestException("Page size must be between 1 and " + MAX_HISTORY_PAGE_SIZE);
+        }
+
+        LocalDateTime afterBookingDateTime = null;
+        String afterId = null;
+        if (cursor != null) {
+            String[] position = decodeCursor(cursor);
+            afterBookingDateTime = LocalDateTime.parse(position[0]);
+            afterId = position[1];
+        }
+
+        // One extra booking tells whether another page follows
+        return bookingRepository.findHistoryPage(email.toLowerCase(), afterBookingDateTime, afterId, limit + 1)
+                .collectList()
+                .map(bookings -> {
+                    boolean hasMore = bookings.size() > limit;
+                    List<Booking> page = hasMore ? bookings.subList(0, limit) : bookings;
+                    Booking last = page.isEmpty() ? null : page.get(page.size() - 1);
+
+                    return BookingHistoryPage.builder()
+                            .bookings(page.stream().map(this::convertToBookingResponse).toList())
+                            .hasMore(hasMore)
+                            .nextCursor(hasMore ? encodeCursor(last) : null)
+                            .build();
+                });
     }
 
     @Override
@@ -95,19 +127,25 @@ public class BookingServiceImpl implements BookingService {
                     // Calculate refund
                     double refundAmount = cancellationValidator.calculateRefundAmount(booking);
 
-                    // Update booking status
-                    booking.setStatus(Constants.STATUS_CANCELLED);
-                    booking.setCancellationDateTime(DateTimeUtil.getCurrentTimestamp());
-                    booking.setCancellationReason("Cancelled by user");
-                    booking.setRefundAmount(refundAmount);
-
-                    // Release seats
-                    return flightRepository.findById(booking.getFlightId())
-                            .flatMap(flight -> {
-                                releaseSeats(flight, booking.getSeatNumbers());
-                                return flightRepository.save(flight);
-                            })
-                            .then(bookingRepository.save(booking))
+                    // Queue the cancellation email, then cancel; the email waits for the saved status.
+                    // Seats are only released by the cancellation that moved the booking out of CONFIRMED,
+                    // so a failed or repeated cancel never frees seats twice
+                    return notificationService.enqueue(Constants.NOTIFICATION_BOOKING_CANCELLED, booking.getId())
+                            .then(bookingRepository.cancelIfConfirmed(booking.getId(),
+                                    DateTimeUtil.getCurrentTimestamp(), "Cancelled by user", refundAmount))
+                            .switchIfEmpty(Mono.error(new InvalidCancellationException("Booking is already cancelled")))
+                            .flatMap(cancelledBooking -> seatLayoutCatalogue.forFlightId(cancelledBooking.getFlightId())
+                                    .flatMap(layout -> flightRepository.releaseSeats(cancelledBooking.getFlightId(),
+                                            SeatIndex.of(cancelledBooking.getSeatNumbers()), layout))
+                                    .doOnNext(released -> {
+                                        if (Boolean.FALSE.equals(released)) {
+                                            log.warn("Seats {} were not booked on flight {}",
+                                                    cancelledBooking.getSeatNumbers(), cancelledBooking.getFlightId());
+                                        }
+                                    })
+                                    .thenReturn(cancelledBooking))
+                            .flatMap(cancelledBooking -> ticketAssembler.cacheTicket(cancelledBooking)
+                                    .thenReturn(cancelledBooking))
                             .map(cancelledBooking -> buildCancellationResponse(cancelledBooking, refundAmount));
                 })
                 .doOnSuccess(response -> log.info("Booking cancelled successfully: {}", pnr))
@@ -115,97 +153,40 @@ public class BookingServiceImpl implements BookingService {
     }
 
     /**
-     * Build Booking entity from request
-     */
-    private Booking buildBooking(BookingRequest request, Flight flight) {
-        String pnr = generateUniquePNR();
-
-        List<Passenger> passengers = request.getPassengers().stream()
-                .map(passengerDto -> Passenger.builder()
-                        .name(passengerDto.getName())
-                        .gender(passengerDto.getGender())
-                        .age(passengerDto.getAge())
-                        .seatNumber(passengerDto.getSeatNumber())
-                        .mealPreference(passengerDto.getMealPreference())
-                        .build())
-                .toList();   // SonarQube compliant
-
-
-        double totalFare = calculateTotalFare(flight, request.getSeatNumbers());
-
-        return Booking.builder()
-                .pnr(pnr)
-                .flightId(flight.getId())
-                .flightNumber(flight.getFlightNumber())
-                .route(flight.getOrigin() + "-" + flight.getDestination())
-                .contactEmail(request.getContactEmail().toLowerCase())
-                .contactName(request.getContactName())
-                .passengers(passengers)
-                .seatNumbers(request.getSeatNumbers())
-                .totalFare(totalFare)
-                .currency(flight.getCurrency())
-                .status(Constants.STATUS_CONFIRMED)
-                .journeyDate(flight.getDepartureDateTime())
-                .bookingDateTime(DateTimeUtil.getCurrentTimestamp())
-                .build();
-    }
-
-    /**
-     * Generate unique PNR
-     */
-    private String generateUniquePNR() {
-        String pnr = PNRGenerator.generatePNR();
-
-        // Simple check - if exists, try again (blocking for simplicity)
-        int attempts = 0;
-        while (Boolean.TRUE.equals(bookingRepository.existsByPnr(pnr).block()) && attempts < 10) {
-            pnr = PNRGenerator.generatePNR();
-            attempts++;
-        }
-
-        return pnr;
-    }
-
-    /**
-     * Calculate total fare including seat charges
+     * Encode the position after a booking as an opaque page cursor
      */
-    private double calculateTotalFare(Flight flight, List<String> seatNumbers) {
-        double baseFare = flight.getBaseFare() * seatNumbers.size();
-
-        double seatCharges = flight.getSeats().stream()
-                .filter(seat -> seatNumbers.contains(seat.getSeatNumber()))
-                .mapToDouble(Seat::getExtraCharge)
-                .sum();
-
-        return baseFare + seatCharges;
+    private String encodeCursor(Booking booking) {
+        String position = booking.getBookingDateTime() + "|" + booking.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
     }
 
     /**
-     * Update seat availability
+     * @return booking time and booking id of the cursor position
      */
-    private void updateSeats(Flight flight, List<String> seatNumbers) {
-        flight.getSeats().forEach(seat -> {
-            if (seatNumbers.contains(seat.getSeatNumber())) {
-                seat.setIsAvailable(false);
+    private String[] decodeCursor(String cursor) {
+        try {
+            String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 2);
+            if (position.length != 2) {
+                throw new IllegalArgumentException("Missing booking id");
             }
-        });
-
-        flight.setAvailableSeats(flight.getAvailableSeats() - seatNumbers.size());
-        flight.setUpdatedAt(DateTimeUtil.getCurrentTimestamp());
+            LocalDateTime.parse(position[0]);
+            return position;
+        } catch (RuntimeException e) {
+            throw new InvalidRequestException("Invalid page cursor");
+        }
     }
 
     /**
-     * Release seats after cancellation
+     * Drop the seat hold a booking was made from; its seats are now booked
      */
-    private void releaseSeats(Flight flight, List<String> seatNumbers) {
-        flight.getSeats().forEach(seat -> {
-            if (seatNumbers.contains(seat.getSeatNumber())) {
-                seat.setIsAvailable(true);
-            }
-        });
+    private Mono<Void> completeSeatHold(String holdId) {
+        if (holdId == null) {
+            return Mono.empty();
+        }
 
-        flight.setAvailableSeats(flight.getAvailableSeats() + seatNumbers.size());
-        flight.setUpdatedAt(DateTimeUtil.getCurrentTimestamp());
+        return seatHoldService.releaseHold(holdId)
+                .onErrorResume(SeatHoldNotFoundException.class, error -> Mono.empty())
+                .then();
     }
 
     /**
@@ -240,44 +221,6 @@ public class BookingServiceImpl implements BookingService {
                 .build();
     }
 
-    /**
-     * Convert to TicketResponse
-     */
-    private TicketResponse convertToTicketResponse(Booking booking, Flight flight) {
-        FlightDetails flightDetails = FlightBookingMapper.mapFlightDetails(flight);
-        BookingDetails bookingDetails = FlightBookingMapper.mapBookingDetails(booking);
-
-
-        List<PassengerInfo> passengers = booking.getPassengers().stream()
-                .map(p -> PassengerInfo.builder()
-                        .name(p.getName())
-                        .gender(p.getGender())
-                        .age(p.getAge())
-                        .seatNumber(p.getSeatNumber())
-                        .mealPreference(p.getMealPreference())
-                        .build())
-                .toList();
-
-        FareBreakdown fareBreakdown = FareBreakdown.builder()
-                .baseFare(flight.getBaseFare() * booking.getPassengers().size())
-                .taxes(0.0)
-                .seatCharges(booking.getTotalFare() - (flight.getBaseFare() * booking.getPassengers().size()))
-                .mealCharges(0.0)
-                .totalFare(booking.getTotalFare())
-                .currency(booking.getCurrency())
-                .build();
-
-        return TicketResponse.builder()
-                .pnr(booking.getPnr())
-                .bookingId(booking.getId())
-                .status(booking.getStatus())
-                .flightDetails(flightDetails)
-                .bookingDetails(bookingDetails)
-                .passengers(passengers)
-                .fareBreakdown(fareBreakdown)
-                .build();
-    }
-
     /**
      * Build CancellationResponse
      */
@@ -0,0 +1,88 @@
+package com.service.impl;
+
+import com.model.EmailMessage;
+import com.service.MailTransport;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+
+/**
+ * Stand-in relay for development and tests: writes every email as an RFC 822 .eml file
+ * into a directory, named after its message id so a repeated send replaces the file.
+ * Any mail client opens the files, attachments included.
+ */
+@Component
+@ConditionalOnProperty(name = "app.notification.transport", havingValue = "file", matchIfMissing = true)
+@Slf4j
+public class FileMailTransport implements MailTransport {
+
+    private static final String BOUNDARY = "ticket-boundary";
+
+    @Value("${app.notification.file.directory:${java.io.tmpdir}/flight-booking-mail}")
+    private Path directory;
+
+    @Value("${app.notification.from:no-reply@flightbooking.local}")
+    private String from;
+
+    @PostConstruct
+    public void createDirectory() throws IOException {
+        Files.createDirectories(directory);
+        log.info("Emails are written to {}", directory.toAbsolutePath());
+    }
+
+    @Override
+    public Mono<Void> send(EmailMessage message) {
+        return Mono.fromCallable(() -> {
+                    // Written under a temporary name and moved, so readers never see half a file
+                    Path target = directory.resolve(message.getMessageId().replace(':', '-') + ".eml");
+                    Path temporary = Files.createTempFile(directory, "sending-", ".tmp");
+                    Files.write(temporary, format(message).getBytes(StandardCharsets.UTF_8));
+                    return Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING,
+                            StandardCopyOption.ATOMIC_MOVE);
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .doOnNext(file -> log.debug("Email to {} written to {}", message.getTo(), file))
+                .then();
+    }
+
+    private String format(EmailMessage message) {
+        StringBuilder eml = new StringBuilder()
+                .append("Message-ID: <").append(message.getMessageId()).append("@flightbooking.local>\r\n")
+                .append("Date: ").append(DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now())).append("\r\n")
+                .append("From: ").append(from).append("\r\n")
+                .append("To: ").append(message.getTo()).append("\r\n")
+                .append("Subject: ").append(message.getSubject()).append("\r\n")
+                .append("MIME-Version: 1.0\r\n");
+
+        if (message.getAttachment() == null) {
+            return eml.append("Content-Type: text/plain; charset=UTF-8\r\n\r\n")
+                    .append(message.getBody()).append("\r\n")
+                    .toString();
+        }
+
+        return eml.append("Content-Type: multipart/mixed; boundary=\"").append(BOUNDARY).append("\"\r\n\r\n")
+                .append("--").append(BOUNDARY).append("\r\n")
+                .append("Content-Type: text/plain; charset=UTF-8\r\n\r\n")
+                .append(message.getBody()).append("\r\n")
+                .append("--").append(BOUNDARY).append("\r\n")
+                .append("Content-Type: application/pdf; name=\"").append(message.getAttachmentName()).append("\"\r\n")
+                .append("Content-Disposition: attachment; filename=\"").append(message.getAttachmentName()).append("\"\r\n")
+                .append("Content-Transfer-Encoding: base64\r\n\r\n")
+                .append(Base64.getMimeEncoder().encodeToString(message.getAttachment())).append("\r\n")
+                .append("--").append(BOUNDARY).append("--\r\n")
+                .toString();
+    }
+}
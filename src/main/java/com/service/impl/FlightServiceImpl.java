@@ -1,9 +1,20 @@
 package com.service.impl;
 
+import com.cache.FareCalendarCache;
+import com.cache.FlightSearchCache;
+import com.cache.RouteGraph;
+import com.cache.SeatLayoutCatalogue;
+import com.cache.SingleFlight;
 import com.dto.request.FlightSearchRequest;
+import com.dto.response.ConnectionItinerary;
+import com.dto.response.FareCalendarResponse;
 import com.dto.response.FlightSearchResponse;
+import com.dto.response.RoundTripOption;
 import com.exception.FlightNotFoundException;
+import com.exception.InvalidRequestException;
+import com.model.DailyFare;
 import com.model.Flight;
+import com.model.FlightSummary;
 import com.model.Seat;
 import com.repository.FlightRepository;
 import com.service.FlightService;
@@ -15,7 +26,12 @@ import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.time.LocalDateTime;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import java.util.List;
 
 @Service
@@ -23,8 +39,24 @@ import java.util.List;
 @Slf4j
 public class FlightServiceImpl implements FlightService {
 
+    private static final int MAX_ROUND_TRIP_OPTIONS = 100;
+    private static final int MAX_CONNECTION_ITINERARIES = 50;
+    private static final int DEFAULT_MAX_STOPS = 1;
+
     private final FlightRepository flightRepository;
     private final FlightSearchValidator searchValidator;
+    private final SeatLayoutCatalogue seatLayoutCatalogue;
+    private final FlightSearchCache flightSearchCache;
+    private final RouteGraph routeGraph;
+    private final FareCalendarCache fareCalendarCache;
+
+    // Identical concurrent searches and lookups share one in-flight query
+    private final SingleFlight<SearchKey, List<FlightSearchResponse>> searches = new SingleFlight<>();
+    private final SingleFlight<String, Flight> flightLookups = new SingleFlight<>();
+
+    private record SearchKey(String origin, String destination, LocalDate departureDate, int passengers,
+                             String cabinClass) {
+    }
 
     @Override
     public Flux<FlightSearchResponse> searchFlights(FlightSearchRequest request) {
@@ -34,35 +66,90 @@ public class FlightServiceImpl implements FlightService {
         // Validate search request
         searchValidator.validateSearchRequest(request);
 
-        // Convert LocalDate to LocalDateTime range (start and end of day)
-        LocalDateTime startOfDay = request.getDepartureDate().atStartOfDay();
-        LocalDateTime endOfDay = request.getDepartureDate().atTime(23, 59, 59);
-
-        return flightRepository
-                .findByOriginAndDestinationAndDepartureDateTimeBetween(
-                        request.getOrigin().toUpperCase(),
-                        request.getDestination().toUpperCase(),
-                        startOfDay,
-                        endOfDay
-                )
-                .filter(flight -> flight.getAvailableSeats() >= request.getPassengers())
-                .map(this::convertToSearchResponse)
+        // Streamed: on a cache miss each flight is emitted as soon as Mongo returns it
+        return streamLeg(searchKey(request.getOrigin(), request.getDestination(), request.getDepartureDate(),
+                request.getPassengers(), request.getCabinClass()))
                 .switchIfEmpty(Flux.defer(() -> {
                     log.warn("No flights found for search criteria");
                     return Flux.empty();
                 }));
     }
 
+    @Override
+    public Flux<RoundTripOption> searchRoundTrip(FlightSearchRequest request) {
+        log.info("Searching round trips between {} and {} on {} / {}",
+                request.getOrigin(), request.getDestination(), request.getDepartureDate(), request.getReturnDate());
+
+        searchValidator.validateSearchRequest(request);
+        if (request.getReturnDate() == null) {
+            throw new InvalidRequestException("Return date is required for round trip");
+        }
+
+        // Both legs are subscribed at once, so the response takes as long as the slower leg
+        return Mono.zip(
+                        searchLeg(request.getOrigin(), request.getDestination(),
+                                request.getDepartureDate(), request.getPassengers(), request.getCabinClass()),
+                        searchLeg(request.getDestination(), request.getOrigin(),
+                                request.getReturnDate(), request.getPassengers(), request.getCabinClass()))
+                .flatMapIterable(legs -> pairRoundTrips(legs.getT1(), legs.getT2()));
+    }
+
+    @Override
+    public Flux<ConnectionItinerary> searchConnections(FlightSearchRequest request) {
+        log.info("Searching connections from {} to {} on {}",
+                request.getOrigin(), request.getDestination(), request.getDepartureDate());
+
+        searchValidator.validateSearchRequest(request);
+        int maxStops = request.getMaxStops() != null ? request.getMaxStops() : DEFAULT_MAX_STOPS;
+
+        // Routed on the in-memory graph; only the chosen legs are read from Mongo
+        return routeGraph.findItineraries(
+                request.getOrigin().toUpperCase(),
+                request.getDestination().toUpperCase(),
+                request.getDepartureDate(),
+                request.getPassengers(),
+                maxStops,
+                MAX_CONNECTION_ITINERARIES)
+                .flatMapIterable(itineraries -> itineraries)
+                .map(this::convertToItinerary);
+    }
+
+    @Override
+    public Mono<FareCalendarResponse> getFareCalendar(String origin, String destination, LocalDate date,
+                                                      int flexDays, int passengers) {
+        log.info("Fetching fare calendar from {} to {} around {} (+/-{} days)", origin, destination, date, flexDays);
+
+        searchValidator.validateFareCalendarRequest(origin, destination, date, flexDays, passengers);
+
+        // Days before today cannot be booked, so the window starts no earlier than today
+        LocalDate today = LocalDate.now();
+        LocalDate from = date.minusDays(flexDays).isBefore(today) ? today : date.minusDays(flexDays);
+        LocalDate to = date.plusDays(flexDays);
+
+        return fareCalendarCache.get(origin.toUpperCase(), destination.toUpperCase(), from, to, passengers)
+                .map(days -> buildFareCalendar(origin.toUpperCase(), destination.toUpperCase(), from, to, days));
+    }
+
     @Override
     public Mono<Flight> getFlightById(String flightId) {
         log.info("Fetching flight with ID: {}", flightId);
 
-        return flightRepository.findById(flightId)
+        return flightLookups.execute(flightId, () -> flightRepository.findById(flightId))
+                // The shared result is one instance and callers such as saveFlight change it
+                .map(Flight::copy)
                 .switchIfEmpty(Mono.error(new FlightNotFoundException(
                         "Flight with ID " + flightId + " not found"
                 )));
     }
 
+    @Override
+    public Mono<List<Seat>> getSeatMap(String flightId) {
+        log.info("Fetching seat map for flight: {}", flightId);
+
+        return getFlightById(flightId)
+                .map(flight -> seatLayoutCatalogue.forFlight(flight).toSeatMap(flight.getSeatBitmap()));
+    }
+
     @Override
     public Mono<Flight> saveFlight(Flight flight) {
         log.info("Saving flight: {}", flight.getFlightNumber());
@@ -73,28 +160,129 @@ public class FlightServiceImpl implements FlightService {
         return flightRepository.save(flight);
     }
 
-    @Override
-    public Mono<Flight> updateFlightSeats(String flightId, int seatsToBook) {
-        log.info("Updating seats for flight: {}, booking {} seats", flightId, seatsToBook);
+    /**
+     * Search one direction; results are cached per route and day, and the passenger count
+     * and cabin class are applied here against the flights' precomputed seat counters
+     */
+    private Mono<List<FlightSearchResponse>> searchLeg(String origin, String destination, LocalDate date,
+                                                       int passengers, String cabinClass) {
+        SearchKey key = searchKey(origin, destination, date, passengers, cabinClass);
 
-        return flightRepository.findById(flightId)
-                .flatMap(flight -> {
-                    int newAvailableSeats = flight.getAvailableSeats() - seatsToBook;
-                    flight.setAvailableSeats(newAvailableSeats);
-                    flight.setUpdatedAt(DateTimeUtil.getCurrentTimestamp());
-                    return flightRepository.save(flight);
-                })
-                .switchIfEmpty(Mono.error(new FlightNotFoundException(flightId)));
+        return searches.execute(key, () -> streamLeg(key).collectList());
+    }
+
+    /**
+     * Search one direction as a stream; on a cache miss results arrive as Mongo returns them
+     */
+    private Flux<FlightSearchResponse> streamLeg(SearchKey key) {
+        return flightSearchCache.stream(key.origin(), key.destination(), key.departureDate())
+                .filter(flight -> seatsLeft(flight, key.cabinClass()) >= key.passengers())
+                .map(this::convertToSearchResponse);
+    }
+
+    private static SearchKey searchKey(String origin, String destination, LocalDate date,
+                                       int passengers, String cabinClass) {
+        return new SearchKey(origin.toUpperCase(), destination.toUpperCase(), date, passengers,
+                cabinClass != null ? cabinClass.toUpperCase() : null);
+    }
+
+    /**
+     * Seats left in the cabin, or on the whole flight when no cabin is requested
+     */
+    private int seatsLeft(FlightSummary flight, String cabinClass) {
+        if (cabinClass == null) {
+            return flight.getAvailableSeats();
+        }
+        return flight.getAvailableSeatsByCabin() != null
+                ? flight.getAvailableSeatsByCabin().getOrDefault(cabinClass, 0)
+                : 0;
+    }
+
+    /**
+     * Pair every outbound flight with every return flight leaving after it lands,
+     * cheapest combined fare first
+     */
+    private List<RoundTripOption> pairRoundTrips(List<FlightSearchResponse> outbound, List<FlightSearchResponse> inbound) {
+        List<RoundTripOption> options = new ArrayList<>();
+
+        for (FlightSearchResponse out : outbound) {
+            for (FlightSearchResponse in : inbound) {
+                if (in.getDepartureDateTime().isAfter(out.getArrivalDateTime())
+                        && out.getCurrency().equals(in.getCurrency())) {
+                    options.add(RoundTripOption.builder()
+                            .outbound(out)
+                            .inbound(in)
+                            .combinedFare(out.getBaseFare() + in.getBaseFare())
+                            .currency(out.getCurrency())
+                            .build());
+                }
+            }
+        }
+
+        return options.stream()
+                .sorted(Comparator.comparingDouble(RoundTripOption::getCombinedFare)
+                        .thenComparing(option -> option.getOutbound().getDepartureDateTime()))
+                .limit(MAX_ROUND_TRIP_OPTIONS)
+                .toList();
+    }
+
+    /**
+     * Build the calendar with one entry per day, filling days without flights
+     */
+    private FareCalendarResponse buildFareCalendar(String origin, String destination, LocalDate from, LocalDate to,
+                                                   List<DailyFare> aggregated) {
+        Map<LocalDate, DailyFare> byDate = aggregated.stream()
+                .collect(Collectors.toMap(DailyFare::getDate, Function.identity()));
+
+        List<DailyFare> days = from.datesUntil(to.plusDays(1))
+                .map(day -> byDate.getOrDefault(day, DailyFare.builder()
+                        .date(day)
+                        .flights(0)
+                        .availableSeats(0)
+                        .build()))
+                .toList();
+
+        LocalDate cheapestDate = aggregated.stream()
+                .min(Comparator.comparingDouble(DailyFare::getLowestFare))
+                .map(DailyFare::getDate)
+                .orElse(null);
+
+        return FareCalendarResponse.builder()
+                .origin(origin)
+                .destination(destination)
+                .fromDate(from)
+                .toDate(to)
+                .cheapestDate(cheapestDate)
+                .days(days)
+                .build();
+    }
+
+    /**
+     * Convert the legs of a connecting itinerary to ConnectionItinerary DTO
+     */
+    private ConnectionItinerary convertToItinerary(List<FlightSummary> legs) {
+        FlightSummary first = legs.get(0);
+        FlightSummary last = legs.get(legs.size() - 1);
+
+        return ConnectionItinerary.builder()
+                .legs(legs.stream().map(this::convertToSearchResponse).toList())
+                .stops(legs.size() - 1)
+                .departureDateTime(first.getDepartureDateTime())
+                .arrivalDateTime(last.getArrivalDateTime())
+                .totalDuration(DateTimeUtil.calculateDuration(first.getDepartureDateTime(), last.getArrivalDateTime()))
+                .totalFare(legs.stream().mapToDouble(FlightSummary::getBaseFare).sum())
+                .currency(first.getCurrency())
+                .build();
     }
 
     /**
-     * Convert Flight entity to FlightSearchResponse DTO
+     * Convert FlightSummary to FlightSearchResponse DTO
      */
-    private FlightSearchResponse convertToSearchResponse(Flight flight) {
-        String duration = DateTimeUtil.calculateDuration(
-                flight.getDepartureDateTime(),
-                flight.getArrivalDateTime()
-        );
+    private FlightSearchResponse convertToSearchResponse(FlightSummary flight) {
+        // Flights saved before duration was stored have it computed here instead
+        String duration = flight.getDuration() != null
+                ? flight.getDuration()
+                : DateTimeUtil.calculateDuration(flight.getDepartureDateTime(), flight.getArrivalDateTime());
 
         return FlightSearchResponse.builder()
                 .flightId(flight.getId())
@@ -110,6 +298,7 @@ public class FlightServiceImpl implements FlightService {
                 .baseFare(flight.getBaseFare())
                 .currency(flight.getCurrency())
                 .availableSeats(flight.getAvailableSeats())
+                .availableSeatsByCabin(flight.getAvailableSeatsByCabin())
                 .aircraftType(flight.getAircraftType())
                 .build();
     }
@@ -1,32 +1,84 @@
 package com.service.impl;
 
+import com.cache.FlightSearchCache;
+import com.cache.ReferenceDataCache;
+import com.cache.SeatLayoutCatalogue;
 import com.dto.request.InventoryRequest;
+import com.dto.request.ScheduleRequest;
 import com.dto.response.ApiResponse;
+import com.dto.response.InventoryImportResult;
+import com.dto.response.ScheduleResponse;
 import com.exception.AirlineNotFoundException;
 import com.exception.DuplicateResourceException;
+import com.exception.FlightNotFoundException;
+import com.exception.InvalidRequestException;
 import com.model.Flight;
-import com.model.Seat;
-import com.repository.AirlineRepository;
+import com.model.SeatLayout;
 import com.repository.FlightRepository;
 import com.service.InventoryService;
 import com.util.DateTimeUtil;
-import com.util.SeatGenerator;
 import com.validator.InventoryValidator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.StringDecoder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
+import org.springframework.util.MimeTypeUtils;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class InventoryServiceImpl implements InventoryService {
 
+    // Splits the body into lines as it arrives, so an import is never held in memory whole
+    private static final StringDecoder LINE_DECODER = StringDecoder.textPlainOnly(List.of("\n"), true);
+
     private final FlightRepository flightRepository;
-    private final AirlineRepository airlineRepository;
+    private final ReferenceDataCache referenceDataCache;
     private final InventoryValidator inventoryValidator;
+    private final SeatLayoutCatalogue seatLayoutCatalogue;
+    private final FlightSearchCache flightSearchCache;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    @Value("${app.inventory.import.batch-size:1000}")
+    private int importBatchSize;
+
+    @Value("${app.inventory.schedule.batch-size:100}")
+    private int scheduleBatchSize;
+
+    @Value("${app.inventory.schedule.write-concurrency:4}")
+    private int scheduleWriteConcurrency;
 
     public Mono<ApiResponse<String>> addFlightInventory(InventoryRequest request) {
         log.info("Adding flight inventory: {} from {} to {}",
@@ -36,32 +88,19 @@ public class InventoryServiceImpl implements InventoryService {
         inventoryValidator.validateInventoryRequest(request);
 
         // Check if airline exists
-        return airlineRepository.findByAirlineCode(request.getAirlineCode())
+        return referenceDataCache.findAirline(request.getAirlineCode())
                 .switchIfEmpty(Mono.error(new AirlineNotFoundException(request.getAirlineCode())))
                 .flatMap(airline -> {
-                    // Check for duplicate flight
-                    return flightRepository
-                            .existsByFlightNumberAndDepartureDateTime(
-                                    request.getFlightNumber(),
-                                    request.getDepartureDateTime()
-                            )
-                            .flatMap(exists -> {
-                                if (Boolean.TRUE.equals(exists)) {
-                                    return Mono.error(new DuplicateResourceException(
-                                            "Flight",
-                                            request.getFlightNumber() + " on " + request.getDepartureDateTime()
-                                    ));
-                                }
-
-                                // Build and save flight
-                                Flight flight = buildFlight(request, airline.getName(), airline.getLogoUrl());
+                    // Build and insert flight; the unique schedule index rejects duplicates
+                    Flight flight = buildFlight(request, airline.getName(), airline.getLogoUrl());
 
-                                return flightRepository.save(flight)
-                                        .map(savedFlight -> ApiResponse.success(
-                                                "Flight inventory added successfully",
-                                                savedFlight.getId()
-                                        ));
-                            });
+                    return flightRepository.insert(flight)
+                            .onErrorMap(DuplicateKeyException.class, error -> duplicateFlight(request))
+                            .doOnNext(flightSearchCache::invalidateRoute)
+                            .map(savedFlight -> ApiResponse.success(
+                                    "Flight inventory added successfully",
+                                    savedFlight.getId()
+                            ));
                 })
                 .doOnSuccess(response -> log.info("Flight inventory added: {}", response.getData()))
                 .doOnError(error -> log.error("Error adding flight inventory: {}", error.getMessage()));
@@ -75,16 +114,22 @@ public class InventoryServiceImpl implements InventoryService {
 
         return flightRepository.findById(inventoryId)
                 .flatMap(existingFlight ->
-                        airlineRepository.findByAirlineCode(request.getAirlineCode())
+                        referenceDataCache.findAirline(request.getAirlineCode())
                                 .switchIfEmpty(Mono.error(new AirlineNotFoundException(request.getAirlineCode())))
                                 .flatMap(airline -> {
-                                    // Update flight details
-                                    updateFlightFromRequest(existingFlight, request, airline.getName(), airline.getLogoUrl());
+                                    // Both the old and the new route/date may be cached
+                                    flightSearchCache.invalidateRoute(existingFlight);
+                                    Flight updatedFlight = existingFlight.toBuilder().build();
+                                    updateFlightFromRequest(updatedFlight, request, airline.getName(), airline.getLogoUrl());
 
-                                    return flightRepository.save(existingFlight)
-                                            .map(updatedFlight -> ApiResponse.success(
+                                    // Only the editable fields; seats sold meanwhile must not be overwritten
+                                    return flightRepository.updateFields(inventoryId, editableFields(updatedFlight))
+                                            .onErrorMap(DuplicateKeyException.class, error -> duplicateFlight(request))
+                                            .filter(Boolean::booleanValue)
+                                            .doOnNext(updated -> flightSearchCache.invalidateRoute(updatedFlight))
+                                            .map(updated -> ApiResponse.success(
                                                     "Flight inventory updated successfully",
-                                                    updatedFlight.getId()
+                                                    inventoryId
                                             ));
                                 })
                 )
@@ -92,11 +137,414 @@ public class InventoryServiceImpl implements InventoryService {
                 .doOnError(error -> log.error("Error updating flight inventory: {}", error.getMessage()));
     }
 
+    @Override
+    public Flux<InventoryImportResult> importFlightInventory(Flux<DataBuffer> body, boolean csv) {
+        log.info("Importing flight inventory from {}", csv ? "CSV" : "NDJSON");
+
+        return Flux.defer(() -> {
+                    // CSV column names, taken from the first line
+                    AtomicReference<List<String>> header = new AtomicReference<>();
+
+                    return LINE_DECODER.decode(body, ResolvableType.forClass(String.class), MimeTypeUtils.TEXT_PLAIN, Map.of())
+                            .index()
+                            .filter(line -> !line.getT2().isBlank())
+                            .filter(line -> {
+                                if (csv && header.get() == null) {
+                                    header.set(parseCsvLine(line.getT2().strip()));
+                                    return false;
+                                }
+                                return true;
+                            })
+                            .map(line -> parseRow(line.getT1() + 1, line.getT2().strip(), csv ? header.get() : null));
+                })
+                .buffer(importBatchSize)
+                // No prefetch: read the next batch only once the previous one is written
+                .concatMap(this::importBatch, 0)
+                .doOnComplete(() -> log.info("Flight inventory import finished"));
+    }
+
+    @Override
+    public Mono<ApiResponse<ScheduleResponse>> createSchedule(ScheduleRequest request) {
+        String scheduleId = new ObjectId().toHexString();
+        log.info("Creating schedule {} for flight {}", scheduleId, request.getFlight().getFlightNumber());
+
+        return applySchedule(scheduleId, request, List.of())
+                .map(response -> ApiResponse.success("Schedule created successfully", response))
+                .doOnError(error -> log.error("Error creating schedule: {}", error.getMessage()));
+    }
+
+    @Override
+    public Mono<ApiResponse<ScheduleResponse>> updateSchedule(String scheduleId, ScheduleRequest request) {
+        log.info("Updating schedule {}", scheduleId);
+
+        return flightRepository.findByScheduleId(scheduleId)
+                .collectList()
+                .filter(existing -> !existing.isEmpty())
+                .switchIfEmpty(Mono.error(new FlightNotFoundException("No flights found for schedule " + scheduleId)))
+                .flatMap(existing -> applySchedule(scheduleId, request, existing))
+                .map(response -> ApiResponse.success("Schedule updated successfully", response))
+                .doOnError(error -> log.error("Error updating schedule: {}", error.getMessage()));
+    }
+
+    /**
+     * Bring the schedule's future flights in line with the request: create missing dates, update
+     * changed fields in place, remove dates no longer flown. Flights with sold seats are never
+     * removed or given another seat layout; they are reported back instead.
+     */
+    private Mono<ScheduleResponse> applySchedule(String scheduleId, ScheduleRequest request, List<Flight> existing) {
+        Set<DayOfWeek> daysOfWeek = inventoryValidator.validateScheduleRequest(request);
+        InventoryRequest template = request.getFlight();
+
+        return referenceDataCache.findAirline(template.getAirlineCode())
+                .switchIfEmpty(Mono.error(new AirlineNotFoundException(template.getAirlineCode())))
+                .flatMap(airline -> {
+                    // Built once; every instance shares its seat layout, bitmap and cabin counters
+                    Flight prototype = buildFlight(template, airline.getName(), airline.getLogoUrl());
+                    prototype.setScheduleId(scheduleId);
+
+                    Map<LocalDate, Flight> desired = expandSchedule(prototype, request, daysOfWeek);
+                    ScheduleDiff diff = diffSchedule(desired, existing);
+
+                    return Mono.when(
+                                    createInstances(diff),
+                                    updateInstances(diff),
+                                    removeInstances(diff))
+                            .then(Mono.fromSupplier(() -> ScheduleResponse.builder()
+                                    .scheduleId(scheduleId)
+                                    .instances(desired.size())
+                                    .created(diff.created.get())
+                                    .updated(diff.updated.get())
+                                    .unchanged(diff.unchanged)
+                                    .removed(diff.removed.get())
+                                    .retainedFlightIds(List.copyOf(diff.retained))
+                                    .build()));
+                });
+    }
+
+    /**
+     * One flight per operating day in the effective range, departing in the future
+     */
+    private Map<LocalDate, Flight> expandSchedule(Flight prototype, ScheduleRequest request, Set<DayOfWeek> daysOfWeek) {
+        LocalTime departureTime = prototype.getDepartureDateTime().toLocalTime();
+        Duration blockTime = Duration.between(prototype.getDepartureDateTime(), prototype.getArrivalDateTime());
+        LocalDateTime now = DateTimeUtil.getCurrentTimestamp();
+
+        Map<LocalDate, Flight> instances = new TreeMap<>();
+        for (LocalDate date = request.getEffectiveFrom(); !date.isAfter(request.getEffectiveTo()); date = date.plusDays(1)) {
+            LocalDateTime departure = date.atTime(departureTime);
+            if (daysOfWeek.contains(date.getDayOfWeek()) && departure.isAfter(now)) {
+                LocalDateTime arrival = departure.plus(blockTime);
+                instances.put(date, prototype.toBuilder()
+                        .departureDateTime(departure)
+                        .arrivalDateTime(arrival)
+                        .duration(DateTimeUtil.calculateDuration(departure, arrival))
+                        .build());
+            }
+        }
+        return instances;
+    }
+
+    private ScheduleDiff diffSchedule(Map<LocalDate, Flight> desired, List<Flight> existing) {
+        ScheduleDiff diff = new ScheduleDiff();
+        Map<LocalDate, Flight> remaining = new HashMap<>(desired);
+        LocalDateTime now = DateTimeUtil.getCurrentTimestamp();
+
+        for (Flight current : existing) {
+            // Flights that already departed are history
+            if (current.getDepartureDateTime().isBefore(now)) {
+                continue;
+            }
+
+            Flight target = remaining.remove(current.getDepartureDateTime().toLocalDate());
+            if (target == null) {
+                diff.removals.add(current);
+            } else if (!target.getSeatLayoutKey().equals(seatLayoutCatalogue.forFlight(current).getKey())) {
+                // A flight's seat layout never changes, so another seat count or cabin setup means another flight
+                diff.replacements.put(current, target);
+            } else {
+                Update update = changedFields(current, target);
+                if (update == null) {
+                    diff.unchanged++;
+                } else {
+                    diff.updates.put(current, update);
+                }
+            }
+        }
+
+        diff.creates.addAll(remaining.values());
+        return diff;
+    }
+
+    /**
+     * @return $set of the fields that differ, or null if none do
+     */
+    private Update changedFields(Flight current, Flight target) {
+        Update update = new Update();
+        boolean changed = setIfChanged(update, "flightNumber", current.getFlightNumber(), target.getFlightNumber())
+                | setIfChanged(update, "airlineCode", current.getAirlineCode(), target.getAirlineCode())
+                | setIfChanged(update, "airlineName", current.getAirlineName(), target.getAirlineName())
+                | setIfChanged(update, "airlineLogoUrl", current.getAirlineLogoUrl(), target.getAirlineLogoUrl())
+                | setIfChanged(update, "origin", current.getOrigin(), target.getOrigin())
+                | setIfChanged(update, "destination", current.getDestination(), target.getDestination())
+                | setIfChanged(update, "departureDateTime", current.getDepartureDateTime(), target.getDepartureDateTime())
+                | setIfChanged(update, "arrivalDateTime", current.getArrivalDateTime(), target.getArrivalDateTime())
+                | setIfChanged(update, "duration", current.getDuration(), target.getDuration())
+                | setIfChanged(update, "aircraftType", current.getAircraftType(), target.getAircraftType())
+                | setIfChanged(update, "baseFare", current.getBaseFare(), target.getBaseFare())
+                | setIfChanged(update, "currency", current.getCurrency(), target.getCurrency())
+                | setIfChanged(update, "daysOfWeek", current.getDaysOfWeek(), target.getDaysOfWeek());
+
+        return changed ? update.set("updatedAt", DateTimeUtil.getCurrentTimestamp()) : null;
+    }
+
+    private static boolean setIfChanged(Update update, String field, Object current, Object target) {
+        if (Objects.equals(current, target)) {
+            return false;
+        }
+        update.set(field, target);
+        return true;
+    }
+
+    /**
+     * Insert new instances in parallel bulk writes; unsold flights with another seat count are
+     * replaced by a fresh instance here as well
+     */
+    private Mono<Void> createInstances(ScheduleDiff diff) {
+        Flux<Flight> replacements = Flux.fromIterable(diff.replacements.entrySet())
+                .flatMap(replacement -> flightRepository.deleteIfUnsold(replacement.getKey().getId())
+                        .flatMap(deleted -> {
+                            flightSearchCache.invalidateRoute(replacement.getKey());
+                            if (Boolean.TRUE.equals(deleted)) {
+                                return Mono.just(replacement.getValue());
+                            }
+                            diff.retained.add(replacement.getKey().getId());
+                            return Mono.empty();
+                        }), scheduleWriteConcurrency);
+
+        return Flux.concat(Flux.fromIterable(diff.creates), replacements)
+                // Ids assigned up front; bulk inserts do not hand ids back
+                .map(flight -> flight.toBuilder().id(new ObjectId().toHexString()).build())
+                .buffer(scheduleBatchSize)
+                .flatMap(batch -> flightRepository.insertAll(batch)
+                        .doOnNext(errors -> {
+                            errors.forEach((index, error) -> log.warn("Schedule flight on {} not created: {}",
+                                    batch.get(index).getDepartureDateTime(), error));
+                            diff.created.addAndGet(batch.size() - errors.size());
+                            batch.forEach(flightSearchCache::invalidateRoute);
+                        }), scheduleWriteConcurrency)
+                .then();
+    }
+
+    private Mono<Void> updateInstances(ScheduleDiff diff) {
+        return Flux.fromIterable(diff.updates.entrySet())
+                .flatMap(entry -> flightRepository
+                        .updateIfUnchanged(entry.getKey().getId(), entry.getKey().getUpdatedAt(), entry.getValue())
+                        // Moved onto another flight's number and departure
+                        .onErrorResume(DuplicateKeyException.class, error -> Mono.just(false))
+                        .doOnNext(updated -> {
+                            // Both the old and the new route/date may be cached
+                            flightSearchCache.invalidateRoute(entry.getKey());
+                            if (Boolean.TRUE.equals(updated)) {
+                                diff.updated.incrementAndGet();
+                            } else {
+                                diff.retained.add(entry.getKey().getId());
+                            }
+                        }), scheduleWriteConcurrency)
+                .then();
+    }
+
+    private Mono<Void> removeInstances(ScheduleDiff diff) {
+        return Flux.fromIterable(diff.removals)
+                .flatMap(flight -> flightRepository.deleteIfUnsold(flight.getId())
+                        .doOnNext(deleted -> {
+                            flightSearchCache.invalidateRoute(flight);
+                            if (Boolean.TRUE.equals(deleted)) {
+                                diff.removed.incrementAndGet();
+                            } else {
+                                diff.retained.add(flight.getId());
+                            }
+                        }), scheduleWriteConcurrency)
+                .then();
+    }
+
+    /**
+     * Changes that bring a schedule's stored flights in line with its request
+     */
+    private static final class ScheduleDiff {
+        private final List<Flight> creates = new ArrayList<>();
+        private final Map<Flight, Flight> replacements = new IdentityHashMap<>();
+        private final Map<Flight, Update> updates = new IdentityHashMap<>();
+        private final List<Flight> removals = new ArrayList<>();
+        private int unchanged;
+
+        private final AtomicInteger created = new AtomicInteger();
+        private final AtomicInteger updated = new AtomicInteger();
+        private final AtomicInteger removed = new AtomicInteger();
+        private final Queue<String> retained = new ConcurrentLinkedQueue<>();
+    }
+
+    /**
+     * Validate a batch and insert its valid flights with one bulk write. Flights that already
+     * exist, or appear twice, are rejected by the unique schedule index, so re-running an
+     * import only adds what is missing.
+     */
+    private Flux<InventoryImportResult> importBatch(List<ImportRow> rows) {
+        return Flux.fromIterable(rows)
+                .concatMap(row -> row.error != null ? Mono.just(row) : prepareFlight(row))
+                .collectList()
+                .flatMapMany(prepared -> {
+                    List<ImportRow> inserts = prepared.stream().filter(row -> row.flight != null).toList();
+
+                    return flightRepository.insertAll(inserts.stream().map(row -> row.flight).toList())
+                            .doOnNext(errors -> errors.forEach((index, error) -> inserts.get(index).reject(error)))
+                            .onErrorResume(error -> {
+                                log.warn("Bulk insert of {} flights failed: {}", inserts.size(), error.getMessage());
+                                inserts.forEach(row -> row.reject("Insert failed: " + error.getMessage()));
+                                return Mono.empty();
+                            })
+                            .thenMany(Flux.fromIterable(prepared));
+                })
+                .doOnNext(row -> {
+                    if (row.flight != null) {
+                        flightSearchCache.invalidateRoute(row.flight);
+                    }
+                })
+                .map(ImportRow::toResult);
+    }
+
+    /**
+     * Run the request checks of a single add and build the flight
+     */
+    private Mono<ImportRow> prepareFlight(ImportRow row) {
+        Set<ConstraintViolation<InventoryRequest>> violations = validator.validate(row.request);
+        if (!violations.isEmpty()) {
+            row.reject(violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+            return Mono.just(row);
+        }
+
+        try {
+            inventoryValidator.validateInventoryRequest(row.request);
+        } catch (InvalidRequestException e) {
+            row.reject(e.getMessage());
+            return Mono.just(row);
+        }
+
+        return referenceDataCache.findAirline(row.request.getAirlineCode())
+                .map(airline -> {
+                    // Id assigned up front; bulk inserts do not hand ids back
+                    row.flight = buildFlight(row.request, airline.getName(), airline.getLogoUrl());
+                    row.flight.setId(new ObjectId().toHexString());
+                    return row;
+                })
+                .defaultIfEmpty(row)
+                .doOnNext(prepared -> {
+                    if (prepared.flight == null) {
+                        prepared.reject("Airline not found with code: " + row.request.getAirlineCode());
+                    }
+                });
+    }
+
+    private ImportRow parseRow(long line, String text, List<String> csvHeader) {
+        try {
+            if (csvHeader == null) {
+                return new ImportRow(line, objectMapper.readValue(text, InventoryRequest.class));
+            }
+
+            List<String> values = parseCsvLine(text);
+            Map<String, Object> fields = new HashMap<>();
+            for (int i = 0; i < csvHeader.size() && i < values.size(); i++) {
+                String value = values.get(i);
+                if (!value.isEmpty()) {
+                    // Days of a recurring schedule are separated by ';' within their column
+                    fields.put(csvHeader.get(i), "daysOfWeek".equals(csvHeader.get(i))
+                            ? List.of(value.split(";"))
+                            : value);
+                }
+            }
+            return new ImportRow(line, objectMapper.convertValue(fields, InventoryRequest.class));
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            ImportRow row = new ImportRow(line, null);
+            row.reject("Unreadable row: " + e.getMessage().lines().findFirst().orElse(""));
+            return row;
+        }
+    }
+
+    /**
+     * Split a CSV line, honouring double-quoted values with "" as an escaped quote
+     */
+    private static List<String> parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString().strip());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        values.add(value.toString().strip());
+
+        return values;
+    }
+
+    private static final class ImportRow {
+        private final long line;
+        private final InventoryRequest request;
+        private Flight flight;
+        private String error;
+
+        private ImportRow(long line, InventoryRequest request) {
+            this.line = line;
+            this.request = request;
+        }
+
+        private void reject(String error) {
+            this.error = error;
+            this.flight = null;
+        }
+
+        private InventoryImportResult toResult() {
+            return InventoryImportResult.builder()
+                    .line(line)
+                    .status(error == null ? "CREATED" : "REJECTED")
+                    .flightId(flight != null ? flight.getId() : null)
+                    .flightNumber(request != null ? request.getFlightNumber() : null)
+                    .error(error)
+                    .build();
+        }
+    }
+
+    private DuplicateResourceException duplicateFlight(InventoryRequest request) {
+        return new DuplicateResourceException(
+                "Flight",
+                request.getFlightNumber() + " on " + request.getDepartureDateTime()
+        );
+    }
+
     /**
      * Build Flight entity from request
      */
     private Flight buildFlight(InventoryRequest request, String airlineName, String logoUrl) {
-        List<Seat> seats = SeatGenerator.generateSeats(request.getTotalSeats());
+        SeatLayout layout = seatLayoutCatalogue.forConfiguration(
+                request.getSeatConfiguration(), request.getTotalSeats());
 
         return Flight.builder()
                 .flightNumber(request.getFlightNumber())
@@ -112,7 +560,9 @@ public class InventoryServiceImpl implements InventoryService {
                 .availableSeats(request.getTotalSeats())
                 .baseFare(request.getBaseFare())
                 .currency(request.getCurrency() != null ? request.getCurrency() : "INR")
-                .seats(seats)
+                .seatLayoutKey(layout.getKey())
+                .seatBitmap(layout.emptyBitmap())
+                .availableSeatsByCabin(layout.emptyCabinCounts())
                 .daysOfWeek(request.getDaysOfWeek())
                 .status("SCHEDULED")
                 .createdAt(DateTimeUtil.getCurrentTimestamp())
@@ -136,6 +586,28 @@ public class InventoryServiceImpl implements InventoryService {
         flight.setBaseFare(request.getBaseFare());
         flight.setCurrency(request.getCurrency() != null ? request.getCurrency() : "INR");
         flight.setDaysOfWeek(request.getDaysOfWeek());
+        flight.setDuration(DateTimeUtil.calculateDuration(request.getDepartureDateTime(), request.getArrivalDateTime()));
         flight.setUpdatedAt(DateTimeUtil.getCurrentTimestamp());
     }
+
+    /**
+     * $set of the fields an inventory update may change; seat fields are left to bookings
+     */
+    private Update editableFields(Flight flight) {
+        return new Update()
+                .set("flightNumber", flight.getFlightNumber())
+                .set("airlineCode", flight.getAirlineCode())
+                .set("airlineName", flight.getAirlineName())
+                .set("airlineLogoUrl", flight.getAirlineLogoUrl())
+                .set("origin", flight.getOrigin())
+                .set("destination", flight.getDestination())
+                .set("departureDateTime", flight.getDepartureDateTime())
+                .set("arrivalDateTime", flight.getArrivalDateTime())
+                .set("duration", flight.getDuration())
+                .set("aircraftType", flight.getAircraftType())
+                .set("baseFare", flight.getBaseFare())
+                .set("currency", flight.getCurrency())
+                .set("daysOfWeek", flight.getDaysOfWeek())
+                .set("updatedAt", flight.getUpdatedAt());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,215 @@
+package com.service.impl;
+
+import com.dto.response.TicketResponse;
+import com.model.Booking;
+import com.model.EmailMessage;
+import com.model.OutboxMessage;
+import com.repository.BookingRepository;
+import com.repository.OutboxRepository;
+import com.service.MailTransport;
+import com.util.Constants;
+import com.util.DateTimeUtil;
+import com.util.TicketPdfRenderer;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Sends the notifications waiting in the outbox. Every poll claims a batch of due messages,
+ * sends them through the {@link MailTransport} and marks them sent; failed sends are retried
+ * with exponential backoff. Claims expire, so messages of a crashed instance are picked up
+ * by another one. Outbox messages may be written before the booking change they announce,
+ * so a message is only sent once its booking shows that change.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationDispatcher {
+
+    private final OutboxRepository outboxRepository;
+    private final BookingRepository bookingRepository;
+    private final TicketAssembler ticketAssembler;
+    private final MailTransport mailTransport;
+
+    @Value("${app.notification.poll-interval-ms:1000}")
+    private long pollIntervalMillis;
+
+    @Value("${app.notification.batch-size:50}")
+    private int batchSize;
+
+    @Value("${app.notification.send-concurrency:8}")
+    private int sendConcurrency;
+
+    @Value("${app.notification.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${app.notification.initial-backoff-seconds:5}")
+    private long initialBackoffSeconds;
+
+    @Value("${app.notification.max-backoff-seconds:900}")
+    private long maxBackoffSeconds;
+
+    @Value("${app.notification.claim-timeout-seconds:120}")
+    private long claimTimeoutSeconds;
+
+    @Value("${app.notification.booking-wait-seconds:300}")
+    private long bookingWaitSeconds;
+
+    private Disposable subscription;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        subscription = Flux.interval(Duration.ofMillis(pollIntervalMillis))
+                .onBackpressureDrop()
+                .concatMap(tick -> dispatchDue()
+                        .onErrorResume(error -> {
+                            log.warn("Outbox dispatch failed: {}", error.getMessage());
+                            return Mono.empty();
+                        }), 0)
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    /**
+     * Claim and send one batch of due messages
+     */
+    private Mono<Void> dispatchDue() {
+        LocalDateTime now = DateTimeUtil.getCurrentTimestamp();
+
+        return outboxRepository.claimDue(now, now.minusSeconds(claimTimeoutSeconds), batchSize)
+                .flatMap(this::deliver, sendConcurrency)
+                .then();
+    }
+
+    private Mono<Boolean> deliver(OutboxMessage message) {
+        return bookingRepository.findById(message.getBookingId())
+                .filter(booking -> showsChange(message, booking))
+                .flatMap(booking -> compose(message, booking))
+                .flatMap(email -> mailTransport.send(email)
+                        .then(outboxRepository.markSent(message.getId(), message.getClaimToken(),
+                                DateTimeUtil.getCurrentTimestamp())))
+                .switchIfEmpty(Mono.defer(() -> awaitBooking(message)))
+                .onErrorResume(error -> retryLater(message, error.getMessage()));
+    }
+
+    /**
+     * Whether the booking already shows the change the message announces
+     */
+    private boolean showsChange(OutboxMessage message, Booking booking) {
+        if (Constants.NOTIFICATION_BOOKING_CANCELLED.equals(message.getType())) {
+            return Constants.STATUS_CANCELLED.equals(booking.getStatus());
+        }
+        return booking.getPnr() != null;
+    }
+
+    /**
+     * The booking write has not landed yet; give up once it clearly never will
+     */
+    private Mono<Boolean> awaitBooking(OutboxMessage message) {
+        LocalDateTime giveUpAt = message.getCreatedAt().plusSeconds(bookingWaitSeconds);
+
+        if (DateTimeUtil.getCurrentTimestamp().isAfter(giveUpAt)) {
+            log.info("Discarding {} notification for booking {}: the booking change was never stored",
+                    message.getType(), message.getBookingId());
+            return outboxRepository.close(message.getId(), message.getClaimToken(),
+                    Constants.OUTBOX_DISCARDED, "Booking change was never stored");
+        }
+
+        return retryLater(message, "Booking change not stored yet");
+    }
+
+    private Mono<Boolean> retryLater(OutboxMessage message, String error) {
+        int attempts = message.getAttempts() + 1;
+
+        if (attempts >= maxAttempts) {
+            log.error("Giving up on {} notification {} after {} attempts: {}",
+                    message.getType(), message.getId(), attempts, error);
+            return outboxRepository.close(message.getId(), message.getClaimToken(), Constants.OUTBOX_FAILED, error);
+        }
+
+        long backoffSeconds = Math.min(maxBackoffSeconds, initialBackoffSeconds << Math.min(attempts - 1, 30));
+        log.warn("Notification {} failed (attempt {}), retrying in {}s: {}",
+                message.getId(), attempts, backoffSeconds, error);
+
+        return outboxRepository.reschedule(message.getId(), message.getClaimToken(),
+                DateTimeUtil.getCurrentTimestamp().plusSeconds(backoffSeconds), error);
+    }
+
+    private Mono<EmailMessage> compose(OutboxMessage message, Booking booking) {
+        return ticketAssembler.assemble(booking)
+                .flatMap(ticket -> {
+                    EmailMessage.EmailMessageBuilder email = EmailMessage.builder()
+                            .messageId(message.getId())
+                            .to(booking.getContactEmail());
+
+                    if (Constants.NOTIFICATION_BOOKING_CANCELLED.equals(message.getType())) {
+                        return Mono.just(email
+                                .subject("Booking cancelled - PNR " + ticket.getPnr())
+                                .body(cancellationBody(ticket, booking))
+                                .build());
+                    }
+
+                    String subject = Constants.NOTIFICATION_TICKET_RESEND.equals(message.getType())
+                            ? "Your e-ticket - PNR " + ticket.getPnr()
+                            : "Booking confirmed - PNR " + ticket.getPnr();
+
+                    return Mono.fromCallable(() -> TicketPdfRenderer.render(ticket))
+                            .subscribeOn(Schedulers.boundedElastic())
+                            .map(pdf -> email
+                                    .subject(subject)
+                                    .body(ticketBody(ticket))
+                                    .attachmentName("ticket-" + ticket.getPnr() + ".pdf")
+                                    .attachment(pdf)
+                                    .build());
+                });
+    }
+
+    private String ticketBody(TicketResponse ticket) {
+        return String.format("""
+                Dear %s,
+
+                Your booking %s on flight %s from %s to %s, departing %s, is %s.
+                Your e-ticket is attached.
+                """,
+                ticket.getBookingDetails().getContactName(),
+                ticket.getPnr(),
+                ticket.getFlightDetails().getFlightNumber(),
+                ticket.getFlightDetails().getOrigin(),
+                ticket.getFlightDetails().getDestination(),
+                ticket.getFlightDetails().getDepartureDateTime(),
+                ticket.getStatus().toLowerCase());
+    }
+
+    private String cancellationBody(TicketResponse ticket, Booking booking) {
+        return String.format("""
+                Dear %s,
+
+                Your booking %s on flight %s from %s to %s has been cancelled.
+                A refund of %s %.2f will be credited to the original payment method.
+                """,
+                ticket.getBookingDetails().getContactName(),
+                ticket.getPnr(),
+                ticket.getFlightDetails().getFlightNumber(),
+                ticket.getFlightDetails().getOrigin(),
+                ticket.getFlightDetails().getDestination(),
+                booking.getCurrency(),
+                booking.getRefundAmount() != null ? booking.getRefundAmount() : 0.0);
+    }
+}
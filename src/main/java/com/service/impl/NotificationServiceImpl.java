@@ -0,0 +1,70 @@
+package com.service.impl;
+
+import com.model.OutboxMessage;
+import com.repository.OutboxRepository;
+import com.service.NotificationService;
+import com.util.Constants;
+import com.util.DateTimeUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Writes notifications to the outbox; {@link NotificationDispatcher} sends them later,
+ * so no mail relay latency is ever part of a booking request.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationServiceImpl implements NotificationService {
+
+    private final OutboxRepository outboxRepository;
+
+    @Override
+    public Mono<Void> enqueue(String type, String bookingId) {
+        return outboxRepository.insert(buildMessage(type, bookingId, DateTimeUtil.getCurrentTimestamp()))
+                // Already written by an earlier attempt of the same change
+                .onErrorResume(DuplicateKeyException.class, error -> Mono.empty())
+                .then();
+    }
+
+    @Override
+    public Mono<Void> enqueueAll(String type, List<String> bookingIds) {
+        LocalDateTime now = DateTimeUtil.getCurrentTimestamp();
+
+        return outboxRepository.insert(bookingIds.stream()
+                        .map(bookingId -> buildMessage(type, bookingId, now))
+                        .toList())
+                .then()
+                .onErrorResume(DuplicateKeyException.class, error -> {
+                    log.debug("Some notifications were already queued, queueing one by one");
+                    return Flux.fromIterable(bookingIds)
+                            .concatMap(bookingId -> enqueue(type, bookingId))
+                            .then();
+                });
+    }
+
+    private OutboxMessage buildMessage(String type, String bookingId, LocalDateTime now) {
+        // A booking is confirmed or cancelled once, but its ticket can be resent any number of times
+        String id = Constants.NOTIFICATION_TICKET_RESEND.equals(type)
+                ? new ObjectId().toHexString()
+                : bookingId + ":" + type;
+
+        return OutboxMessage.builder()
+                .id(id)
+                .type(type)
+                .bookingId(bookingId)
+                .status(Constants.OUTBOX_PENDING)
+                .attempts(0)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build();
+    }
+}
@@ -1,40 +1,107 @@
 package com.service.impl;
 
-import com.repository.BookingRepository;
+import com.cache.SingleFlight;
+import com.repository.PnrSequenceRepository;
 import com.service.PNRGeneratorService;
 import com.util.PNRGenerator;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class PNRGeneratorServiceImpl implements PNRGeneratorService {
 
-    private final BookingRepository bookingRepository;
+    private final PnrSequenceRepository pnrSequenceRepository;
+
+    @Value("${app.booking.pnr-node-id:0}")
+    private int nodeId;
+
+    @Value("${app.booking.pnr-secret}")
+    private String secret;
+
+    @Value("${app.booking.pnr-block-size:1000}")
+    private int blockSize;
+
+    private SecretKey key;
+
+    // Sequence numbers reserved in Mongo and not yet used; empty until the first booking
+    private final AtomicReference<SequenceBlock> block = new AtomicReference<>(new SequenceBlock(0, 0));
+
+    private final SingleFlight<Integer, SequenceBlock> refills = new SingleFlight<>();
+
+    private static final class SequenceBlock {
+
+        private final AtomicLong next;
+        private final long end;
 
+        SequenceBlock(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+
+        /**
+         * @return the next sequence number, or -1 if the block is used up
+         */
+        long take() {
+            long sequence = next.getAndIncrement();
+            return sequence < end ? sequence : -1;
+        }
+    }
+
+    @PostConstruct
+    public void initKey() {
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalStateException("app.booking.pnr-secret must be set");
+        }
+        key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+    }
+
+    /**
+     * Allocate a PNR from the node's reserved sequence block; Mongo is only read when
+     * a block runs out. Uniqueness is guaranteed by construction per node and finally
+     * enforced by the unique index on Booking.pnr.
+     */
     @Override
     public Mono<String> generateUniquePNR() {
         return Mono.defer(() -> {
-            String pnr = PNRGenerator.generatePNR();
-
-            return bookingRepository.existsByPnr(pnr)
-                    .flatMap(exists -> {
-                        if (Boolean.TRUE.equals(exists)) {
-                            // If PNR exists, generate a new one recursively
-                            log.debug("PNR {} already exists, generating new one", pnr);
-                            return generateUniquePNR();
-                        }
-                        log.debug("Generated unique PNR: {}", pnr);
-                        return Mono.just(pnr);
-                    });
+            SequenceBlock current = block.get();
+            long sequence = current.take();
+            if (sequence >= 0) {
+                String pnr = PNRGenerator.generateSequencedPNR(nodeId, sequence, key);
+                log.debug("Allocated PNR: {}", pnr);
+                return Mono.just(pnr);
+            }
+
+            // Concurrent callers share one reservation, then take from the new block
+            return refills.execute(nodeId, () -> block.get() != current
+                            ? Mono.just(block.get())
+                            : reserveBlock())
+                    .then(generateUniquePNR());
         });
     }
 
+    private Mono<SequenceBlock> reserveBlock() {
+        return pnrSequenceRepository.reserveBlock(String.valueOf(nodeId), blockSize)
+                .map(start -> new SequenceBlock(start, start + blockSize))
+                .doOnNext(reserved -> {
+                    block.set(reserved);
+                    log.debug("Reserved PNR sequences from {}", reserved.next.get());
+                });
+    }
+
     @Override
     public boolean validatePNR(String pnr) {
         return PNRGenerator.isValidPNR(pnr);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,164 @@
+package com.service.impl;
+
+import com.cache.SeatHoldTable;
+import com.dto.request.SeatHoldRequest;
+import com.dto.response.SeatHoldResponse;
+import com.exception.FlightNotFoundException;
+import com.exception.InvalidRequestException;
+import com.exception.SeatHoldNotFoundException;
+import com.exception.SeatUnavailableException;
+import com.model.SeatHold;
+import com.repository.FlightRepository;
+import com.repository.SeatHoldRepository;
+import com.service.SeatHoldService;
+import com.util.Constants;
+import com.util.DateTimeUtil;
+import com.util.SeatGenerator;
+import com.util.SeatIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SeatHoldServiceImpl implements SeatHoldService {
+
+    private final SeatHoldTable seatHoldTable;
+    private final SeatHoldRepository seatHoldRepository;
+    private final FlightRepository flightRepository;
+
+    @Value("${app.booking.seat-hold-duration:600}")
+    private long seatHoldDurationSeconds;
+
+    @Override
+    public Mono<SeatHoldResponse> holdSeats(SeatHoldRequest request) {
+        log.info("Holding seats {} on flight: {}", request.getSeatNumbers(), request.getFlightId());
+
+        validateSeatSelection(request.getSeatNumbers());
+
+        SeatHold hold = SeatHold.builder()
+                .id(UUID.randomUUID().toString())
+                .flightId(request.getFlightId())
+                .seatNumbers(List.copyOf(request.getSeatNumbers()))
+                .contactEmail(request.getContactEmail() != null ? request.getContactEmail().toLowerCase() : null)
+                .createdAt(DateTimeUtil.getCurrentTimestamp())
+                .expiresAt(Instant.now().plusSeconds(seatHoldDurationSeconds))
+                .build();
+
+        return flightRepository.areSeatsAvailable(request.getFlightId(), SeatIndex.of(request.getSeatNumbers()))
+                .flatMap(available -> {
+                    if (Boolean.FALSE.equals(available)) {
+                        return explainUnavailable(request);
+                    }
+
+                    List<String> conflicts = seatHoldTable.tryHold(hold);
+                    if (!conflicts.isEmpty()) {
+                        return Mono.error(new SeatUnavailableException(conflicts));
+                    }
+
+                    // Persist for crash recovery; drop the in-memory hold if that fails
+                    return seatHoldRepository.save(hold)
+                            .onErrorResume(error -> {
+                                seatHoldTable.release(hold.getId());
+                                return Mono.error(error);
+                            });
+                })
+                .map(saved -> toResponse(saved, Constants.STATUS_HELD))
+                .doOnSuccess(response -> log.info("Seat hold {} created until {}",
+                        response.getHoldId(), response.getExpiresAt()))
+                .doOnError(error -> log.error("Error holding seats: {}", error.getMessage()));
+    }
+
+    @Override
+    public Mono<SeatHoldResponse> getHold(String holdId) {
+        return Mono.justOrEmpty(seatHoldTable.find(holdId))
+                .switchIfEmpty(Mono.error(SeatHoldNotFoundException.forHoldId(holdId)))
+                .map(hold -> toResponse(hold, Constants.STATUS_HELD));
+    }
+
+    @Override
+    public Mono<SeatHoldResponse> extendHold(String holdId) {
+        log.info("Extending seat hold: {}", holdId);
+
+        Instant expiresAt = Instant.now().plusSeconds(seatHoldDurationSeconds);
+
+        return Mono.justOrEmpty(seatHoldTable.extend(holdId, expiresAt))
+                // Only moves the stored expiry; a release that raced the extend has deleted the document
+                .flatMap(hold -> seatHoldRepository.extendIfPresent(holdId, expiresAt)
+                        .filter(Boolean::booleanValue)
+                        .map(extended -> hold))
+                .switchIfEmpty(Mono.error(SeatHoldNotFoundException.forHoldId(holdId)))
+                .map(hold -> toResponse(hold, Constants.STATUS_HELD));
+    }
+
+    @Override
+    public Mono<SeatHoldResponse> releaseHold(String holdId) {
+        log.info("Releasing seat hold: {}", holdId);
+
+        return Mono.justOrEmpty(seatHoldTable.release(holdId))
+                .switchIfEmpty(Mono.error(SeatHoldNotFoundException.forHoldId(holdId)))
+                .flatMap(hold -> seatHoldRepository.deleteById(holdId)
+                        .thenReturn(toResponse(hold, Constants.STATUS_RELEASED)));
+    }
+
+    /**
+     * Reload holds that were active when the service last stopped.
+     * Expired ones are skipped; Mongo deletes them through the TTL index on expiresAt,
+     * which MongoIndexInitializer creates, within a minute or so of expiry.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void restoreHolds() {
+        seatHoldRepository.findByExpiresAtAfter(Instant.now())
+                .filter(hold -> seatHoldTable.tryHold(hold).isEmpty())
+                .count()
+                .subscribe(
+                        restored -> log.info("Restored {} active seat holds", restored),
+                        error -> log.error("Error restoring seat holds: {}", error.getMessage())
+                );
+    }
+
+    /**
+     * Validate seat numbers before touching the database
+     */
+    private void validateSeatSelection(List<String> seatNumbers) {
+        if (new HashSet<>(seatNumbers).size() != seatNumbers.size()) {
+            throw new InvalidRequestException("Duplicate seat selections are not allowed");
+        }
+
+        List<String> invalidSeats = seatNumbers.stream()
+                .filter(seatNumber -> !SeatGenerator.isValidSeatNumber(seatNumber))
+                .toList();
+
+        if (!invalidSeats.isEmpty()) {
+            throw new InvalidRequestException("Invalid seat numbers: " + String.join(", ", invalidSeats));
+        }
+    }
+
+    private Mono<SeatHold> explainUnavailable(SeatHoldRequest request) {
+        return flightRepository.existsById(request.getFlightId())
+                .flatMap(exists -> Mono.error(Boolean.TRUE.equals(exists)
+                        ? new SeatUnavailableException(request.getSeatNumbers())
+                        : new FlightNotFoundException("Flight with ID " + request.getFlightId() + " not found")));
+    }
+
+    private SeatHoldResponse toResponse(SeatHold hold, String status) {
+        return SeatHoldResponse.builder()
+                .holdId(hold.getId())
+                .flightId(hold.getFlightId())
+                .status(status)
+                .seatNumbers(hold.getSeatNumbers())
+                .contactEmail(hold.getContactEmail())
+                .expiresAt(hold.getExpiresAt())
+                .build();
+    }
+}
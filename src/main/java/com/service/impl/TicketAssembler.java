@@ -0,0 +1,123 @@
+package com.service.impl;
+
+import com.cache.SingleFlight;
+import com.cache.TicketCache;
+import com.dto.response.*;
+import com.exception.BookingNotFoundException;
+import com.exception.FlightNotFoundException;
+import com.model.Booking;
+import com.model.FlightSnapshot;
+import com.repository.BookingRepository;
+import com.repository.FlightRepository;
+import com.util.FlightBookingMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Builds the ticket view of a booking. Bookings carry a snapshot of their flight,
+ * so a ticket costs one read; only bookings made before snapshots existed also read the flight.
+ * Assembled tickets are kept in the {@link TicketCache}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TicketAssembler {
+
+    private final BookingRepository bookingRepository;
+    private final FlightRepository flightRepository;
+    private final TicketCache ticketCache;
+
+    // Concurrent ticket lookups for the same PNR share one query
+    private final SingleFlight<String, TicketResponse> ticketLookups = new SingleFlight<>();
+
+    /**
+     * Find the booking with the PNR and build its ticket
+     */
+    public Mono<TicketResponse> findTicket(String pnr) {
+        String normalizedPnr = pnr.toUpperCase();
+
+        return Mono.defer(() -> ticketCache.get(normalizedPnr)
+                        .map(Mono::just)
+                        .orElseGet(() -> ticketLookups.execute(normalizedPnr, () -> bookingRepository
+                                .findByPnr(normalizedPnr)
+                                .flatMap(this::assemble)
+                                .doOnNext(ticketCache::put))
+                                // The shared result is one instance; hand each caller its own
+                                .map(TicketResponse::copy)))
+                .switchIfEmpty(Mono.error(new BookingNotFoundException(pnr)));
+    }
+
+    /**
+     * Write the ticket of a booking that was just stored through to the cache.
+     * Never fails: a ticket that cannot be assembled is simply not cached.
+     */
+    public Mono<Void> cacheTicket(Booking booking) {
+        return assemble(booking)
+                .doOnNext(ticketCache::put)
+                .onErrorResume(error -> {
+                    log.warn("Could not cache ticket for PNR {}: {}", booking.getPnr(), error.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    /**
+     * Build the ticket of a booking, reading its flight only if the booking has no snapshot
+     */
+    public Mono<TicketResponse> assemble(Booking booking) {
+        if (booking.getFlightSnapshot() != null) {
+            return Mono.just(buildTicketResponse(booking, booking.getFlightSnapshot()));
+        }
+
+        log.debug("Booking {} has no flight snapshot, reading flight {}", booking.getPnr(), booking.getFlightId());
+        return flightRepository.findById(booking.getFlightId())
+                .switchIfEmpty(Mono.error(new FlightNotFoundException(
+                        "Flight with ID " + booking.getFlightId() + " not found"
+                )))
+                .map(flight -> buildTicketResponse(booking, FlightBookingMapper.mapFlightSnapshot(flight)));
+    }
+
+    /**
+     * Build TicketResponse from Booking and its flight snapshot
+     */
+    private TicketResponse buildTicketResponse(Booking booking, FlightSnapshot flight) {
+        FlightDetails flightDetails = FlightBookingMapper.mapFlightDetails(flight);
+        BookingDetails bookingDetails = FlightBookingMapper.mapBookingDetails(booking);
+
+        List<PassengerInfo> passengers = booking.getPassengers().stream()
+                .map(p -> PassengerInfo.builder()
+                        .name(p.getName())
+                        .gender(p.getGender())
+                        .age(p.getAge())
+                        .seatNumber(p.getSeatNumber())
+                        .mealPreference(p.getMealPreference())
+                        .build())
+                .toList();
+
+        double baseFare = flight.getBaseFare() * booking.getPassengers().size();
+        double seatCharges = booking.getTotalFare() - baseFare;
+
+        FareBreakdown fareBreakdown = FareBreakdown.builder()
+                .baseFare(baseFare)
+                .taxes(0.0)
+                .seatCharges(seatCharges)
+                .mealCharges(0.0)
+                .totalFare(booking.getTotalFare())
+                .currency(booking.getCurrency())
+                .build();
+
+        return TicketResponse.builder()
+                .pnr(booking.getPnr())
+                .bookingId(booking.getId())
+                .status(booking.getStatus())
+                .flightDetails(flightDetails)
+                .bookingDetails(bookingDetails)
+                .passengers(passengers)
+                .fareBreakdown(fareBreakdown)
+                .build();
+    }
+}
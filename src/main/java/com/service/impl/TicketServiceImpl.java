@@ -1,53 +1,85 @@
 package com.service.impl;
 
+import com.cache.SingleFlight;
+import com.cache.TicketPdfCache;
 import com.dto.response.*;
-import com.exception.BookingNotFoundException;
+import com.exception.FlightNotFoundException;
 import com.model.Booking;
-import com.model.Flight;
+import com.model.Passenger;
 import com.repository.BookingRepository;
 import com.repository.FlightRepository;
+import com.service.NotificationService;
 import com.service.TicketService;
-import com.util.FlightBookingMapper;
+import com.util.Constants;
+import com.util.StreamingZipWriter;
+import com.util.TicketPdfRenderer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
-import java.util.List;
-import java.util.stream.Collectors;
+import java.nio.ByteBuffer;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class TicketServiceImpl implements TicketService {
 
+    private static final int PDF_CHUNK_SIZE = 8192;
+    private static final int EXPORT_CONCURRENCY = 4;
+
+    private final TicketAssembler ticketAssembler;
     private final BookingRepository bookingRepository;
     private final FlightRepository flightRepository;
+    private final TicketPdfCache ticketPdfCache;
+    private final NotificationService notificationService;
+
+    private final SingleFlight<String, byte[]> pdfRenders = new SingleFlight<>();
 
     @Override
     public Mono<TicketResponse> getTicketByPnr(String pnr) {
         log.info("Fetching ticket for PNR: {}", pnr);
 
-        return bookingRepository.findByPnr(pnr.toUpperCase())
-                .switchIfEmpty(Mono.error(new BookingNotFoundException(pnr)))
-                .flatMap(booking ->
-                        flightRepository.findById(booking.getFlightId())
-                                .map(flight -> buildTicketResponse(booking, flight))
-                )
+        return ticketAssembler.findTicket(pnr)
                 .doOnSuccess(ticket -> log.info("Ticket fetched successfully for PNR: {}", pnr))
                 .doOnError(error -> log.error("Error fetching ticket: {}", error.getMessage()));
     }
 
     @Override
-    public Mono<byte[]> downloadTicketPdf(String pnr) {
+    public Mono<Flux<DataBuffer>> downloadTicketPdf(String pnr) {
         log.info("Generating PDF for PNR: {}", pnr);
 
         return getTicketByPnr(pnr)
-                .map(ticket -> {
-                    String pdfContent = generatePdfContent(ticket);
-                    return pdfContent.getBytes();
-                })
-                .doOnSuccess(pdf -> log.info("PDF generated for PNR: {}", pnr));
+                .flatMap(this::renderPdf)
+                .map(this::toChunks);
+    }
+
+    @Override
+    public Mono<Flux<DataBuffer>> exportFlightTickets(String flightId) {
+        log.info("Exporting tickets for flight: {}", flightId);
+
+        return flightRepository.existsById(flightId)
+                .flatMap(exists -> {
+                    if (!Boolean.TRUE.equals(exists)) {
+                        return Mono.error(new FlightNotFoundException("Flight with ID " + flightId + " not found"));
+                    }
+
+                    // One writer per response; Flux.concat serializes every call on it
+                    Flux<DataBuffer> archive = Flux.using(
+                            StreamingZipWriter::new,
+                            zip -> Flux.concat(
+                                    ticketEntries(flightId, zip),
+                                    manifestEntry(flightId, zip),
+                                    Mono.fromCallable(zip::finish)),
+                            StreamingZipWriter::close);
+
+                    return Mono.just(archive.filter(chunk -> chunk.readableByteCount() > 0));
+                });
     }
 
     @Override
@@ -55,93 +87,99 @@ public class TicketServiceImpl implements TicketService {
         log.info("Resending ticket email for PNR: {}", pnr);
 
         return getTicketByPnr(pnr)
-                .flatMap(ticket -> {
-                    log.info("Email sent to: {}", ticket.getBookingDetails().getContactEmail());
-                    return Mono.just("Ticket email sent successfully to " +
-                            ticket.getBookingDetails().getContactEmail());
-                })
+                .flatMap(ticket -> notificationService
+                        .enqueue(Constants.NOTIFICATION_TICKET_RESEND, ticket.getBookingId())
+                        .then(Mono.fromSupplier(() -> {
+                            log.info("Email queued for: {}", ticket.getBookingDetails().getContactEmail());
+                            return "Ticket email will be sent to " + ticket.getBookingDetails().getContactEmail();
+                        })))
                 .doOnError(error -> log.error("Error sending email: {}", error.getMessage()));
     }
 
     /**
-     * Build TicketResponse from Booking and Flight
+     * Render the ticket's PDF, or reuse the document rendered for the same PNR and status.
+     * Rendering is CPU-bound, so it runs off the event loop and concurrent requests share one render.
+     */
+    private Mono<byte[]> renderPdf(TicketResponse ticket) {
+        return ticketPdfCache.get(ticket.getPnr(), ticket.getStatus())
+                .map(Mono::just)
+                .orElseGet(() -> pdfRenders.execute(ticket.getPnr() + ":" + ticket.getStatus(), () -> render(ticket)
+                        .doOnNext(pdf -> {
+                            ticketPdfCache.put(ticket.getBookingId(), ticket.getPnr(), ticket.getStatus(), pdf);
+                            log.info("PDF generated for PNR: {} ({} bytes)", ticket.getPnr(), pdf.length);
+                        })));
+    }
+
+    /**
+     * One stored PDF entry per booking. At most EXPORT_CONCURRENCY tickets are rendered ahead of
+     * the response, so memory stays flat however many bookings the flight has. Renders are not
+     * cached: an export touches every ticket once and would only push out the hot ones.
      */
-    private TicketResponse buildTicketResponse(Booking booking, Flight flight) {
-        FlightDetails flightDetails = FlightBookingMapper.mapFlightDetails(flight);
-        BookingDetails bookingDetails = FlightBookingMapper.mapBookingDetails(booking);
-
-        List<PassengerInfo> passengers = booking.getPassengers().stream()
-                .map(p -> PassengerInfo.builder()
-                        .name(p.getName())
-                        .gender(p.getGender())
-                        .age(p.getAge())
-                        .seatNumber(p.getSeatNumber())
-                        .mealPreference(p.getMealPreference())
-                        .build())
-                .toList();
-
-        double baseFare = flight.getBaseFare() * booking.getPassengers().size();
-        double seatCharges = booking.getTotalFare() - baseFare;
-
-        FareBreakdown fareBreakdown = FareBreakdown.builder()
-                .baseFare(baseFare)
-                .taxes(0.0)
-                .seatCharges(seatCharges)
-                .mealCharges(0.0)
-                .totalFare(booking.getTotalFare())
-                .currency(booking.getCurrency())
-                .build();
-
-        return TicketResponse.builder()
-                .pnr(booking.getPnr())
-                .bookingId(booking.getId())
-                .status(booking.getStatus())
-                .flightDetails(flightDetails)
-                .bookingDetails(bookingDetails)
-                .passengers(passengers)
-                .fareBreakdown(fareBreakdown)
-                .build();
+    private Flux<DataBuffer> ticketEntries(String flightId, StreamingZipWriter zip) {
+        return bookingRepository.findByFlightId(flightId)
+                .flatMapSequential(booking -> ticketAssembler.assemble(booking)
+                        .flatMap(ticket -> ticketPdfCache.get(ticket.getPnr(), ticket.getStatus())
+                                .map(Mono::just)
+                                .orElseGet(() -> render(ticket))
+                                .map(pdf -> Map.entry("tickets/" + ticket.getPnr() + ".pdf", pdf))),
+                        EXPORT_CONCURRENCY, 1)
+                .map(entry -> zip.storeEntry(entry.getKey(), entry.getValue()));
     }
 
     /**
-     * Generate PDF content (placeholder implementation)
+     * A CSV line per passenger, streamed into the archive as the bookings are read again
      */
-    private String generatePdfContent(TicketResponse ticket) {
-
-        String passengerDetails = ticket.getPassengers().stream()
-                .map(p -> p.getName() + " - Seat: " + p.getSeatNumber())
-                .collect(Collectors.joining("\n"));
-
-        return String.format("""
-            E-TICKET
-
-            PNR: %s
-            Status: %s
-
-            Flight Details:
-            Flight Number: %s
-            Airline: %s
-            Route: %s to %s
-            Departure: %s
-            Arrival: %s
-
-            Passenger Details:
-            %s
-
-            Total Fare: %s %.2f
-            """,
-                ticket.getPnr(),
-                ticket.getStatus(),
-                ticket.getFlightDetails().getFlightNumber(),
-                ticket.getFlightDetails().getAirlineName(),
-                ticket.getFlightDetails().getOrigin(),
-                ticket.getFlightDetails().getDestination(),
-                ticket.getFlightDetails().getDepartureDateTime(),
-                ticket.getFlightDetails().getArrivalDateTime(),
-                passengerDetails,
-                ticket.getFareBreakdown().getCurrency(),
-                ticket.getFareBreakdown().getTotalFare()
-        );
+    private Flux<DataBuffer> manifestEntry(String flightId, StreamingZipWriter zip) {
+        return Flux.concat(
+                Mono.fromCallable(() -> zip.startEntry("manifest.csv")),
+                Mono.fromCallable(() -> zip.append("pnr,status,passenger,gender,age,seat,meal\n")),
+                bookingRepository.findByFlightId(flightId).map(booking -> zip.append(manifestLines(booking))),
+                Mono.fromCallable(zip::closeEntry));
     }
 
-}
\ No newline at end of file
+    private String manifestLines(Booking booking) {
+        StringBuilder lines = new StringBuilder();
+        for (Passenger passenger : booking.getPassengers()) {
+            lines.append(String.join(",",
+                    csv(booking.getPnr()),
+                    csv(booking.getStatus()),
+                    csv(passenger.getName()),
+                    csv(passenger.getGender()),
+                    passenger.getAge() != null ? passenger.getAge().toString() : "",
+                    csv(passenger.getSeatNumber()),
+                    csv(passenger.getMealPreference())))
+                    .append('\n');
+        }
+        return lines.toString();
+    }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    private Mono<byte[]> render(TicketResponse ticket) {
+        return Mono.fromCallable(() -> TicketPdfRenderer.render(ticket))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Slice the document into read-only buffers that wrap it without copying
+     */
+    private Flux<DataBuffer> toChunks(byte[] pdf) {
+        int chunks = (pdf.length + PDF_CHUNK_SIZE - 1) / PDF_CHUNK_SIZE;
+
+        return Flux.range(0, chunks)
+                .map(chunk -> {
+                    int offset = chunk * PDF_CHUNK_SIZE;
+                    int length = Math.min(PDF_CHUNK_SIZE, pdf.length - offset);
+                    return DefaultDataBufferFactory.sharedInstance.wrap(
+                            ByteBuffer.wrap(pdf, offset, length).slice().asReadOnlyBuffer());
+                });
+    }
+}
@@ -11,6 +11,10 @@ public final class Constants {
     public static final String FLIGHTS_PATH = API_BASE_PATH + "/flights";
     public static final String BOOKINGS_PATH = API_BASE_PATH + "/bookings";
     public static final String ADMIN_PATH = API_BASE_PATH + "/admin";
+    public static final String SEAT_HOLDS_PATH = API_BASE_PATH + "/seat-holds";
+
+    // Media Types
+    public static final String TEXT_CSV_VALUE = "text/csv";
 
     // Date/Time Formats
     public static final String DATE_FORMAT = "yyyy-MM-dd";
@@ -26,6 +30,22 @@ public final class Constants {
     public static final String STATUS_CANCELLED = "CANCELLED";
     public static final String STATUS_PENDING = "PENDING";
 
+    // Seat Hold Status
+    public static final String STATUS_HELD = "HELD";
+    public static final String STATUS_RELEASED = "RELEASED";
+
+    // Notification Types
+    public static final String NOTIFICATION_BOOKING_CONFIRMED = "BOOKING_CONFIRMED";
+    public static final String NOTIFICATION_BOOKING_CANCELLED = "BOOKING_CANCELLED";
+    public static final String NOTIFICATION_TICKET_RESEND = "TICKET_RESEND";
+
+    // Outbox Message Status
+    public static final String OUTBOX_PENDING = "PENDING";
+    public static final String OUTBOX_SENDING = "SENDING";
+    public static final String OUTBOX_SENT = "SENT";
+    public static final String OUTBOX_FAILED = "FAILED";
+    public static final String OUTBOX_DISCARDED = "DISCARDED";
+
     // Seat Types
     public static final String SEAT_ECONOMY = "ECONOMY";
     public static final String SEAT_BUSINESS = "BUSINESS";
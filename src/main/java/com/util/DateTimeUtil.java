@@ -1,5 +1,6 @@
 package com.util;
 
+import java.time.DayOfWeek;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
@@ -29,6 +30,24 @@ public final class DateTimeUtil {
         return String.format("%dh %dm", hours, minutes);
     }
 
+    /**
+     * Parse a day of week written as MON or MONDAY, in any case
+     * @return the day, or null if it is not one
+     */
+    public static DayOfWeek parseDayOfWeek(String day) {
+        if (day == null || day.strip().length() < 3) {
+            return null;
+        }
+
+        String normalized = day.strip().toUpperCase();
+        for (DayOfWeek dayOfWeek : DayOfWeek.values()) {
+            if (dayOfWeek.name().equals(normalized) || dayOfWeek.name().substring(0, 3).equals(normalized)) {
+                return dayOfWeek;
+            }
+        }
+        return null;
+    }
+
     /**
      * Check if a datetime is in the past
      */
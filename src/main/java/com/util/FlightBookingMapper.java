@@ -4,12 +4,13 @@ import com.dto.response.BookingDetails;
 import com.dto.response.FlightDetails;
 import com.model.Booking;
 import com.model.Flight;
+import com.model.FlightSnapshot;
 
 public class FlightBookingMapper {
 
     private FlightBookingMapper() {}
 
-    public static FlightDetails mapFlightDetails(Flight flight) {
+    public static FlightDetails mapFlightDetails(FlightSnapshot flight) {
         return FlightDetails.builder()
                 .flightNumber(flight.getFlightNumber())
                 .airlineName(flight.getAirlineName())
@@ -18,10 +19,26 @@ public class FlightBookingMapper {
                 .destination(flight.getDestination())
                 .departureDateTime(flight.getDepartureDateTime())
                 .arrivalDateTime(flight.getArrivalDateTime())
+                .duration(flight.getDuration())
+                .aircraftType(flight.getAircraftType())
+                .build();
+    }
+
+    public static FlightSnapshot mapFlightSnapshot(Flight flight) {
+        return FlightSnapshot.builder()
+                .flightNumber(flight.getFlightNumber())
+                .airlineCode(flight.getAirlineCode())
+                .airlineName(flight.getAirlineName())
+                .airlineLogoUrl(flight.getAirlineLogoUrl())
+                .origin(flight.getOrigin())
+                .destination(flight.getDestination())
+                .departureDateTime(flight.getDepartureDateTime())
+                .arrivalDateTime(flight.getArrivalDateTime())
                 .duration(DateTimeUtil.calculateDuration(
                         flight.getDepartureDateTime(),
                         flight.getArrivalDateTime()))
                 .aircraftType(flight.getAircraftType())
+                .baseFare(flight.getBaseFare())
                 .build();
     }
 
@@ -1,5 +1,8 @@
 package com.util;
 
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import java.security.GeneralSecurityException;
 import java.security.SecureRandom;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -13,6 +16,21 @@ public final class PNRGenerator {
     private static final String ALPHANUMERIC = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
     private static final SecureRandom RANDOM = new SecureRandom();
 
+    private static final int RADIX = ALPHANUMERIC.length();
+    private static final int SEQUENCE_CHARS = 5;
+    private static final long SEQUENCE_SPACE = 60_466_176L; // 36^5
+
+    // Keyed Feistel network over 26 bits (2^26 >= 36^5), cycle-walked down to 36^5
+    private static final int HALF_BITS = 13;
+    private static final int HALF_MASK = (1 << HALF_BITS) - 1;
+    private static final int FEISTEL_ROUNDS = 4;
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+
+    /**
+     * Number of distinct node ids that fit in the first PNR character
+     */
+    public static final int MAX_NODES = RADIX;
+
     /**
      * Generate a unique PNR number
      * Format: PNR + 6 random alphanumeric characters
@@ -29,6 +47,71 @@ public final class PNRGenerator {
         return pnr.toString();
     }
 
+    /**
+     * Generate a PNR that is unique by construction for a node and sequence number
+     * Format: PNR + 1 node char + 5 permuted sequence chars
+     * Two nodes never share the first char, and one node only repeats a PNR
+     * after 36^5 allocations, so no database lookup is needed. The sequence goes
+     * through a permutation keyed with a secret, so one PNR reveals nothing about
+     * the PNRs issued before or after it.
+     */
+    public static String generateSequencedPNR(int nodeId, long sequence, SecretKey key) {
+        if (nodeId < 0 || nodeId >= MAX_NODES) {
+            throw new IllegalArgumentException("PNR node id must be between 0 and " + (MAX_NODES - 1));
+        }
+
+        long value = permute(Math.floorMod(sequence, SEQUENCE_SPACE), key);
+
+        char[] chars = new char[SEQUENCE_CHARS];
+        for (int i = SEQUENCE_CHARS - 1; i >= 0; i--) {
+            chars[i] = ALPHANUMERIC.charAt((int) (value % RADIX));
+            value /= RADIX;
+        }
+
+        return Constants.PNR_PREFIX + ALPHANUMERIC.charAt(nodeId) + new String(chars);
+    }
+
+    /**
+     * Keyed bijection on [0, 36^5). The Feistel network permutes [0, 2^26); values that land
+     * outside the PNR space are fed through again until they land inside, which keeps it a bijection
+     */
+    private static long permute(long value, SecretKey key) {
+        Mac mac = newMac(key);
+        long permuted = value;
+        do {
+            permuted = feistel(permuted, mac);
+        } while (permuted >= SEQUENCE_SPACE);
+        return permuted;
+    }
+
+    private static long feistel(long value, Mac mac) {
+        int left = (int) (value >>> HALF_BITS) & HALF_MASK;
+        int right = (int) value & HALF_MASK;
+
+        byte[] input = new byte[3];
+        for (int round = 0; round < FEISTEL_ROUNDS; round++) {
+            input[0] = (byte) round;
+            input[1] = (byte) (right >>> 8);
+            input[2] = (byte) right;
+            byte[] digest = mac.doFinal(input);
+            int next = left ^ (((digest[0] & 0xFF) << 8 | (digest[1] & 0xFF)) & HALF_MASK);
+            left = right;
+            right = next;
+        }
+
+        return ((long) left << HALF_BITS) | right;
+    }
+
+    private static Mac newMac(SecretKey key) {
+        try {
+            Mac mac = Mac.getInstance(MAC_ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("PNR key cannot be used with " + MAC_ALGORITHM, e);
+        }
+    }
+
     /**
      * Generate PNR with timestamp component
      * Format: PNR + YYMMDD + 3 random chars
@@ -0,0 +1,115 @@
+package com.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Helpers for the per-flight seat availability bitmap.
+ * Seats map to slots on a fixed grid of row x letter, independent of the aircraft
+ * layout, so a seat number can be turned into a bit without loading the flight.
+ * A set bit means the seat is booked or does not exist on that aircraft.
+ */
+public final class SeatBitmap {
+
+    private SeatBitmap() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    // Letter I is skipped by airlines, so a row can hold up to 10 seats
+    public static final String GRID_LETTERS = "ABCDEFGHJK";
+    public static final int GRID_WIDTH = GRID_LETTERS.length();
+
+    private static final int WORD_BITS = Long.SIZE;
+
+    /**
+     * Decode a seat number such as 12C into its grid slot
+     * @return the slot, or -1 if the seat number is malformed
+     */
+    public static int slotOf(String seatNumber) {
+        if (seatNumber == null || seatNumber.length() < 2) {
+            return -1;
+        }
+
+        int last = seatNumber.length() - 1;
+        int letterIndex = GRID_LETTERS.indexOf(seatNumber.charAt(last));
+        if (letterIndex < 0) {
+            return -1;
+        }
+
+        int row = 0;
+        for (int i = 0; i < last; i++) {
+            char c = seatNumber.charAt(i);
+            if (c < '0' || c > '9' || row > 9_999) {
+                return -1;
+            }
+            row = row * 10 + (c - '0');
+        }
+
+        return row < 1 ? -1 : (row - 1) * GRID_WIDTH + letterIndex;
+    }
+
+    /**
+     * Encode a grid slot back into its seat number
+     */
+    public static String seatNumberOf(int slot) {
+        return (slot / GRID_WIDTH + 1) + String.valueOf(GRID_LETTERS.charAt(slot % GRID_WIDTH));
+    }
+
+    /**
+     * Number of 64-bit words needed for a grid of the given size
+     */
+    public static int wordCount(int gridSize) {
+        return (gridSize + WORD_BITS - 1) / WORD_BITS;
+    }
+
+    public static int wordOf(int slot) {
+        return slot / WORD_BITS;
+    }
+
+    public static long maskOf(int slot) {
+        return 1L << (slot % WORD_BITS);
+    }
+
+    /**
+     * Check whether a slot exists and is free
+     */
+    public static boolean isFree(List<Long> bitmap, int slot) {
+        if (bitmap == null || slot < 0 || wordOf(slot) >= bitmap.size()) {
+            return false;
+        }
+        return (bitmap.get(wordOf(slot)) & maskOf(slot)) == 0;
+    }
+
+    public static void markBooked(List<Long> bitmap, int slot) {
+        bitmap.set(wordOf(slot), bitmap.get(wordOf(slot)) | maskOf(slot));
+    }
+
+    public static void markFree(List<Long> bitmap, int slot) {
+        bitmap.set(wordOf(slot), bitmap.get(wordOf(slot)) & ~maskOf(slot));
+    }
+
+    /**
+     * Positions of the set bits of a mask, as used by the $bitsAllSet / $bitsAllClear operators
+     */
+    public static List<Integer> bitPositions(long mask) {
+        List<Integer> positions = new ArrayList<>(Long.bitCount(mask));
+        long remaining = mask;
+        while (remaining != 0) {
+            positions.add(Long.numberOfTrailingZeros(remaining));
+            remaining &= remaining - 1;
+        }
+        return positions;
+    }
+
+    /**
+     * A bitmap with every slot marked unavailable
+     */
+    public static List<Long> allBooked(int gridSize) {
+        int words = wordCount(gridSize);
+        List<Long> bitmap = new ArrayList<>(words);
+        for (int i = 0; i < words; i++) {
+            bitmap.add(-1L);
+        }
+        return bitmap;
+    }
+}
@@ -1,5 +1,6 @@
 package com.util;
 
+import com.model.CabinLayout;
 import com.model.Seat;
 
 import java.util.ArrayList;
@@ -11,40 +12,81 @@ public final class SeatGenerator {
         throw new UnsupportedOperationException("Utility class cannot be instantiated");
     }
 
-    private static final String[] SEAT_LETTERS = {"A", "B", "C", "D", "E", "F"};
-    private static final int BUSINESS_ROWS = 3;
-    private static final int ECONOMY_ROWS_START = 4;
+    private static final String SEAT_WINDOW = "WINDOW";
+    private static final String SEAT_AISLE = "AISLE";
+    private static final String SEAT_MIDDLE = "MIDDLE";
 
     /**
-     * Generate seat map for an aircraft
+     * Cabins of the standard configuration: 3 business rows, then economy, 6 abreast.
+     * Flights stored with STD layout keys were generated from these, so they must not change.
+     */
+    public static final List<CabinLayout> STANDARD_CABINS = List.of(
+            CabinLayout.builder()
+                    .seatClass(Constants.SEAT_BUSINESS)
+                    .rows(3)
+                    .letters("ABCDEF")
+                    .windowLetters("AF")
+                    .aisleLetters("CD")
+                    .extraCharge(2000.0)
+                    .windowCharge(200.0)
+                    .aisleCharge(100.0)
+                    .build(),
+            CabinLayout.builder()
+                    .seatClass(Constants.SEAT_ECONOMY)
+                    .letters("ABCDEF")
+                    .windowLetters("AF")
+                    .aisleLetters("CD")
+                    .windowCharge(200.0)
+                    .aisleCharge(100.0)
+                    .build());
+
+    /**
+     * Generate seat map for an aircraft with the standard cabins
      * @param totalSeats Total number of seats
      * @return List of Seat objects
      */
     public static List<Seat> generateSeats(int totalSeats) {
-        List<Seat> seats = new ArrayList<>();
-
-        int rows = (int) Math.ceil(totalSeats / 6.0);
-        int seatCount = 0;
-
-        for (int row = 1; row <= rows && seatCount < totalSeats; row++) {
-            for (String letter : SEAT_LETTERS) {
-                if (seatCount >= totalSeats) break;
-
-                String seatNumber = row + letter;
-                String seatClass = determineSeatClass(row);
-                String seatType = determineSeatType(letter);
-                Double extraCharge = calculateExtraCharge(seatClass, seatType);
-
-                Seat seat = Seat.builder()
-                        .seatNumber(seatNumber)
-                        .seatClass(seatClass)
-                        .isAvailable(true)
-                        .seatType(seatType)
-                        .extraCharge(extraCharge)
-                        .build();
-
-                seats.add(seat);
-                seatCount++;
+        return generateSeats(STANDARD_CABINS, totalSeats);
+    }
+
+    /**
+     * Generate seat map for an aircraft, filling the cabins front to back until the seats run out.
+     * Type and charge are worked out once per cabin letter, not per seat; the last cabin
+     * takes every seat the earlier cabins cannot hold.
+     * @param cabins Cabin configuration, as checked by {@link #validateCabins}
+     * @param totalSeats Total number of seats
+     * @return List of Seat objects
+     */
+    public static List<Seat> generateSeats(List<CabinLayout> cabins, int totalSeats) {
+        List<Seat> seats = new ArrayList<>(totalSeats);
+
+        int row = 1;
+        for (int c = 0; c < cabins.size() && seats.size() < totalSeats; c++) {
+            CabinLayout cabin = cabins.get(c);
+            String letters = cabin.getLetters();
+            int width = letters.length();
+
+            String[] seatTypes = new String[width];
+            Double[] extraCharges = new Double[width];
+            for (int i = 0; i < width; i++) {
+                char letter = letters.charAt(i);
+                seatTypes[i] = determineSeatType(cabin, letter);
+                extraCharges[i] = calculateExtraCharge(cabin, seatTypes[i]);
+            }
+
+            boolean last = c == cabins.size() - 1;
+            int rows = last || cabin.getRows() == null ? Integer.MAX_VALUE : cabin.getRows();
+            for (int cabinRow = 0; cabinRow < rows && seats.size() < totalSeats; cabinRow++, row++) {
+                String rowNumber = Integer.toString(row);
+                for (int i = 0; i < width && seats.size() < totalSeats; i++) {
+                    seats.add(Seat.builder()
+                            .seatNumber(rowNumber.concat(String.valueOf(letters.charAt(i))))
+                            .seatClass(cabin.getSeatClass())
+                            .isAvailable(true)
+                            .seatType(seatTypes[i])
+                            .extraCharge(extraCharges[i])
+                            .build());
+                }
             }
         }
 
@@ -52,60 +94,75 @@ public final class SeatGenerator {
     }
 
     /**
-     * Determine seat class based on row number
+     * Check a cabin configuration can be laid out on the seat grid
+     * @throws IllegalArgumentException describing the first problem found
      */
-    private static String determineSeatClass(int row) {
-        if (row <= BUSINESS_ROWS) {
-            return Constants.SEAT_BUSINESS;
+    public static void validateCabins(List<CabinLayout> cabins) {
+        if (cabins == null || cabins.isEmpty()) {
+            throw new IllegalArgumentException("At least one cabin is required");
+        }
+
+        for (int c = 0; c < cabins.size(); c++) {
+            CabinLayout cabin = cabins.get(c);
+            if (cabin.getSeatClass() == null || cabin.getSeatClass().isBlank()) {
+                throw new IllegalArgumentException("Cabin " + (c + 1) + " has no seat class");
+            }
+            if (c < cabins.size() - 1 && (cabin.getRows() == null || cabin.getRows() < 1)) {
+                throw new IllegalArgumentException("Cabin " + cabin.getSeatClass() + " needs at least one row");
+            }
+            String letters = cabin.getLetters();
+            if (letters == null || letters.isEmpty()) {
+                throw new IllegalArgumentException("Cabin " + cabin.getSeatClass() + " has no seat letters");
+            }
+            for (int i = 0; i < letters.length(); i++) {
+                char letter = letters.charAt(i);
+                if (SeatBitmap.GRID_LETTERS.indexOf(letter) < 0 || letters.indexOf(letter) != i) {
+                    throw new IllegalArgumentException("Cabin " + cabin.getSeatClass()
+                            + " seat letters must be distinct letters from " + SeatBitmap.GRID_LETTERS);
+                }
+            }
         }
-        return Constants.SEAT_ECONOMY;
     }
 
     /**
      * Determine seat type based on letter
      */
-    private static String determineSeatType(String letter) {
-        if (letter.equals("A") || letter.equals("F")) {
-            return "WINDOW";
-        } else if (letter.equals("C") || letter.equals("D")) {
-            return "AISLE";
+    private static String determineSeatType(CabinLayout cabin, char letter) {
+        if (contains(cabin.getWindowLetters(), letter)) {
+            return SEAT_WINDOW;
+        } else if (contains(cabin.getAisleLetters(), letter)) {
+            return SEAT_AISLE;
         } else {
-            return "MIDDLE";
+            return SEAT_MIDDLE;
         }
     }
 
     /**
      * Calculate extra charge for seat
      */
-    private static Double calculateExtraCharge(String seatClass, String seatType) {
-        double charge = 0.0;
+    private static Double calculateExtraCharge(CabinLayout cabin, String seatType) {
+        double charge = cabin.getExtraCharge();
 
-        // Business class premium
-        if (Constants.SEAT_BUSINESS.equals(seatClass)) {
-            charge += 2000.0;
+        if (SEAT_WINDOW.equals(seatType)) {
+            charge += cabin.getWindowCharge();
         }
 
-        // Window seat premium
-        if ("WINDOW".equals(seatType)) {
-            charge += 200.0;
-        }
-
-        // Aisle seat premium
-        if ("AISLE".equals(seatType)) {
-            charge += 100.0;
+        if (SEAT_AISLE.equals(seatType)) {
+            charge += cabin.getAisleCharge();
         }
 
         return charge;
     }
 
+    private static boolean contains(String letters, char letter) {
+        return letters != null && letters.indexOf(letter) >= 0;
+    }
+
     /**
      * Check if a seat number is valid
      */
     public static boolean isValidSeatNumber(String seatNumber) {
-        if (seatNumber == null || seatNumber.isEmpty()) {
-            return false;
-        }
-
-        return seatNumber.matches("^\\d+[A-F]$");
+        // Any configured layout fits the seat grid, so a seat number is valid if it maps to a slot
+        return SeatBitmap.slotOf(seatNumber) >= 0;
     }
-}
\ No newline at end of file
+}
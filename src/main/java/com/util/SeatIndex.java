@@ -0,0 +1,161 @@
+package com.util;
+
+import com.model.SeatLayout;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Requested seats decoded once into bitmap slots.
+ * Built once per booking request and shared by validation, fare calculation
+ * and the seat bitmap updates, so none of them parse or compare seat strings.
+ */
+public final class SeatIndex {
+
+    private final List<String> seatNumbers;
+    private final int[] slots;
+    private final boolean valid;
+    // Bitmap words touched by the seats, ascending, with the seats' bits in each
+    private final int[] maskWords;
+    private final long[] masks;
+
+    private SeatIndex(List<String> seatNumbers, int[] slots) {
+        this.seatNumbers = seatNumbers;
+        this.slots = slots;
+        this.valid = Arrays.stream(slots).allMatch(slot -> slot >= 0);
+
+        int[] sorted = valid ? slots.clone() : new int[0];
+        Arrays.sort(sorted);
+        int[] words = new int[sorted.length];
+        long[] wordMasks = new long[sorted.length];
+        int count = 0;
+        for (int slot : sorted) {
+            int word = SeatBitmap.wordOf(slot);
+            if (count == 0 || words[count - 1] != word) {
+                words[count++] = word;
+            }
+            wordMasks[count - 1] |= SeatBitmap.maskOf(slot);
+        }
+        this.maskWords = Arrays.copyOf(words, count);
+        this.masks = Arrays.copyOf(wordMasks, count);
+    }
+
+    public static SeatIndex of(List<String> seatNumbers) {
+        int[] slots = new int[seatNumbers.size()];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = SeatBitmap.slotOf(seatNumbers.get(i));
+        }
+        return new SeatIndex(List.copyOf(seatNumbers), slots);
+    }
+
+    /**
+     * Combine the seats of several requests, e.g. for one batched reservation
+     */
+    public static SeatIndex concat(List<SeatIndex> indexes) {
+        List<String> seatNumbers = new ArrayList<>();
+        int[] slots = new int[indexes.stream().mapToInt(SeatIndex::size).sum()];
+
+        int offset = 0;
+        for (SeatIndex index : indexes) {
+            seatNumbers.addAll(index.seatNumbers);
+            System.arraycopy(index.slots, 0, slots, offset, index.slots.length);
+            offset += index.slots.length;
+        }
+
+        return new SeatIndex(Collections.unmodifiableList(seatNumbers), slots);
+    }
+
+    public int size() {
+        return slots.length;
+    }
+
+    public List<String> getSeatNumbers() {
+        return seatNumbers;
+    }
+
+    /**
+     * True when every seat number could be decoded
+     */
+    public boolean isValid() {
+        return valid;
+    }
+
+    /**
+     * Number of bitmap words the seats fall in; none if the seats are not valid
+     */
+    public int maskCount() {
+        return masks.length;
+    }
+
+    /**
+     * Bitmap word of the i-th mask, in word order
+     */
+    public int maskWord(int i) {
+        return maskWords[i];
+    }
+
+    /**
+     * Bits of all seats within the i-th mask's word
+     */
+    public long mask(int i) {
+        return masks[i];
+    }
+
+    public boolean hasDuplicates() {
+        int[] sorted = slots.clone();
+        Arrays.sort(sorted);
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i] == sorted[i - 1]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Seats that are booked, missing from the aircraft or malformed
+     */
+    public List<String> unavailableIn(List<Long> seatBitmap) {
+        List<String> unavailable = new ArrayList<>();
+        for (int i = 0; i < slots.length; i++) {
+            if (!SeatBitmap.isFree(seatBitmap, slots[i])) {
+                unavailable.add(seatNumbers.get(i));
+            }
+        }
+        return unavailable;
+    }
+
+    /**
+     * Sum of the layout's extra charges for these seats
+     */
+    public double extraCharges(SeatLayout layout) {
+        double total = 0.0;
+        for (int slot : slots) {
+            total += layout.extraCharge(slot);
+        }
+        return total;
+    }
+
+    /**
+     * Number of these seats in each seat class of the layout; seats not on the aircraft are skipped
+     */
+    public Map<String, Integer> countByCabin(SeatLayout layout) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (int slot : slots) {
+            if (layout.hasSeat(slot)) {
+                counts.merge(layout.seatClass(slot), 1, Integer::sum);
+            }
+        }
+        return counts;
+    }
+
+    public void markBooked(List<Long> seatBitmap) {
+        for (int slot : slots) {
+            SeatBitmap.markBooked(seatBitmap, slot);
+        }
+    }
+}
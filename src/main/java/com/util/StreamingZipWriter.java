@@ -0,0 +1,92 @@
+package com.util;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes a ZIP archive piece by piece. Every call returns the bytes it produced as a
+ * {@link DataBuffer} and keeps nothing but the archive's central directory, so an archive
+ * can be streamed to a response while only one entry is in memory at a time.
+ * Not thread-safe; calls must be serialized.
+ */
+public final class StreamingZipWriter implements AutoCloseable {
+
+    private final ByteArrayOutputStream pending = new ByteArrayOutputStream(16 * 1024);
+    private final ZipOutputStream zip = new ZipOutputStream(pending, StandardCharsets.UTF_8);
+
+    /**
+     * Add an already complete entry, stored as is (e.g. for content that is compressed already)
+     */
+    public DataBuffer storeEntry(String name, byte[] content) {
+        CRC32 crc = new CRC32();
+        crc.update(content);
+
+        ZipEntry entry = new ZipEntry(name);
+        entry.setMethod(ZipEntry.STORED);
+        entry.setSize(content.length);
+        entry.setCompressedSize(content.length);
+        entry.setCrc(crc.getValue());
+
+        return write(() -> {
+            zip.putNextEntry(entry);
+            zip.write(content);
+            zip.closeEntry();
+        });
+    }
+
+    /**
+     * Start a compressed entry whose content is appended with {@link #append}
+     */
+    public DataBuffer startEntry(String name) {
+        return write(() -> zip.putNextEntry(new ZipEntry(name)));
+    }
+
+    public DataBuffer append(String text) {
+        return write(() -> zip.write(text.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    public DataBuffer closeEntry() {
+        return write(zip::closeEntry);
+    }
+
+    /**
+     * Write the central directory; the archive is complete afterwards
+     */
+    public DataBuffer finish() {
+        return write(zip::finish);
+    }
+
+    @Override
+    public void close() {
+        try {
+            zip.close();
+        } catch (IOException e) {
+            // Nothing left to deliver; the response is already gone
+        }
+    }
+
+    private DataBuffer write(ZipAction action) {
+        try {
+            action.run();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        byte[] bytes = pending.toByteArray();
+        pending.reset();
+        return DefaultDataBufferFactory.sharedInstance.wrap(bytes);
+    }
+
+    @FunctionalInterface
+    private interface ZipAction {
+        void run() throws IOException;
+    }
+}
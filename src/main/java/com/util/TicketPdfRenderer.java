@@ -0,0 +1,317 @@
+package com.util;
+
+import com.dto.response.BookingDetails;
+import com.dto.response.FareBreakdown;
+import com.dto.response.FlightDetails;
+import com.dto.response.PassengerInfo;
+import com.dto.response.TicketResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.Deflater;
+
+/**
+ * Renders a ticket as a PDF 1.4 document. Pages are A4 and use the standard Helvetica
+ * fonts, so nothing is embedded and a ticket renders to a few kilobytes; content streams
+ * are deflate-compressed. Long passenger lists continue on further pages.
+ */
+public final class TicketPdfRenderer {
+
+    private TicketPdfRenderer() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    private static final int PAGE_WIDTH = 595;
+    private static final int PAGE_HEIGHT = 842;
+    private static final int MARGIN = 50;
+    private static final int BOTTOM = 90;
+    private static final int ROW_HEIGHT = 18;
+
+    private static final String REGULAR = "F1";
+    private static final String BOLD = "F2";
+
+    // Object numbers of the fixed objects; pages follow as (page, content) pairs
+    private static final int CATALOG = 1;
+    private static final int PAGES = 2;
+    private static final int REGULAR_FONT = 3;
+    private static final int BOLD_FONT = 4;
+    private static final int INFO = 5;
+    private static final int FIRST_PAGE = 6;
+
+    private static final int[] PASSENGER_COLUMNS = {MARGIN, 270, 340, 390, 450};
+
+    private static final DateTimeFormatter DATETIME_FORMAT =
+            DateTimeFormatter.ofPattern("dd MMM yyyy, HH:mm", Locale.ENGLISH);
+
+    public static byte[] render(TicketResponse ticket) {
+        List<Page> pages = layout(ticket);
+        return write(ticket.getPnr(), pages);
+    }
+
+    private static List<Page> layout(TicketResponse ticket) {
+        List<Page> pages = new ArrayList<>();
+        Page page = newPage(pages, ticket);
+
+        FlightDetails flight = ticket.getFlightDetails();
+        int y = 720;
+        y = section(page, "Flight", y);
+        y = field(page, "Flight", flight.getFlightNumber() + "  " + text(flight.getAirlineName()), y);
+        y = field(page, "Route", flight.getOrigin() + "  ->  " + flight.getDestination(), y);
+        y = field(page, "Departure", formatDateTime(flight.getDepartureDateTime()), y);
+        y = field(page, "Arrival", formatDateTime(flight.getArrivalDateTime()), y);
+        y = field(page, "Duration", text(flight.getDuration()), y);
+        y = field(page, "Aircraft", text(flight.getAircraftType()), y);
+
+        y = section(page, "Passengers", y - 12);
+        y = passengerHeader(page, y);
+        for (PassengerInfo passenger : ticket.getPassengers()) {
+            if (y < BOTTOM) {
+                page = newPage(pages, ticket);
+                y = passengerHeader(page, section(page, "Passengers (continued)", 720));
+            }
+            page.text(REGULAR, 10, PASSENGER_COLUMNS[0], y, text(passenger.getName()));
+            page.text(REGULAR, 10, PASSENGER_COLUMNS[1], y, text(passenger.getGender()));
+            page.text(REGULAR, 10, PASSENGER_COLUMNS[2], y, passenger.getAge() != null ? passenger.getAge().toString() : "");
+            page.text(BOLD, 10, PASSENGER_COLUMNS[3], y, text(passenger.getSeatNumber()));
+            page.text(REGULAR, 10, PASSENGER_COLUMNS[4], y, text(passenger.getMealPreference()));
+            y -= ROW_HEIGHT;
+        }
+
+        // Booking and fare details stay together, on a new page if they do not fit
+        if (y - 12 - 11 * ROW_HEIGHT < BOTTOM) {
+            page = newPage(pages, ticket);
+            y = 720 + 12;
+        }
+
+        BookingDetails booking = ticket.getBookingDetails();
+        y = section(page, "Booking", y - 12);
+        y = field(page, "Booked by", text(booking.getContactName()) + "  <" + text(booking.getContactEmail()) + ">", y);
+        y = field(page, "Booked on", formatDateTime(booking.getBookingDateTime()), y);
+        y = field(page, "Seats", booking.getSeatNumbers() != null ? String.join(", ", booking.getSeatNumbers()) : "", y);
+
+        FareBreakdown fare = ticket.getFareBreakdown();
+        y = section(page, "Fare", y - 12);
+        y = field(page, "Base fare", formatAmount(fare.getBaseFare(), fare.getCurrency()), y);
+        y = field(page, "Taxes", formatAmount(fare.getTaxes(), fare.getCurrency()), y);
+        y = field(page, "Seat charges", formatAmount(fare.getSeatCharges(), fare.getCurrency()), y);
+        y = field(page, "Meal charges", formatAmount(fare.getMealCharges(), fare.getCurrency()), y);
+        page.rule(y + ROW_HEIGHT - 5);
+        page.text(BOLD, 11, MARGIN, y - 4, "Total");
+        page.text(BOLD, 11, 170, y - 4, formatAmount(fare.getTotalFare(), fare.getCurrency()));
+
+        for (int i = 0; i < pages.size(); i++) {
+            pages.get(i).gray().text(REGULAR, 8, MARGIN, 40,
+                    "PNR " + ticket.getPnr() + "  -  page " + (i + 1) + " of " + pages.size());
+        }
+
+        return pages;
+    }
+
+    private static Page newPage(List<Page> pages, TicketResponse ticket) {
+        Page page = new Page();
+        pages.add(page);
+
+        boolean cancelled = Constants.STATUS_CANCELLED.equals(ticket.getStatus());
+
+        page.fill(cancelled ? "0.55 0.10 0.10" : "0.07 0.20 0.45", 0, 762, PAGE_WIDTH, 80);
+        page.white()
+                .text(BOLD, 24, MARGIN, 795, "E-TICKET")
+                .text(BOLD, 16, 380, 800, "PNR " + ticket.getPnr())
+                .text(REGULAR, 11, 380, 781, text(ticket.getStatus()))
+                .black();
+
+        return page;
+    }
+
+    private static int section(Page page, String title, int y) {
+        page.text(BOLD, 13, MARGIN, y, title).rule(y - 6);
+        return y - 24;
+    }
+
+    private static int field(Page page, String label, String value, int y) {
+        page.gray().text(REGULAR, 10, MARGIN, y, label)
+                .black().text(REGULAR, 10, 170, y, value);
+        return y - ROW_HEIGHT;
+    }
+
+    private static int passengerHeader(Page page, int y) {
+        String[] headings = {"Name", "Gender", "Age", "Seat", "Meal"};
+        page.gray();
+        for (int i = 0; i < headings.length; i++) {
+            page.text(REGULAR, 9, PASSENGER_COLUMNS[i], y, headings[i]);
+        }
+        page.black();
+        return y - ROW_HEIGHT;
+    }
+
+    private static String formatDateTime(LocalDateTime dateTime) {
+        return dateTime != null ? DATETIME_FORMAT.format(dateTime) : "";
+    }
+
+    private static String formatAmount(Double amount, String currency) {
+        return String.format(Locale.ROOT, "%s %,.2f", text(currency), amount != null ? amount : 0.0);
+    }
+
+    private static String text(String value) {
+        return value != null ? value : "";
+    }
+
+    /**
+     * Write the document: fixed objects, one page and content object per page,
+     * then the cross-reference table that points at every object's byte offset
+     */
+    private static byte[] write(String pnr, List<Page> pages) {
+        PdfOutput out = new PdfOutput();
+        int objectCount = FIRST_PAGE - 1 + 2 * pages.size();
+        int[] offsets = new int[objectCount + 1];
+
+        out.ascii("%PDF-1.4\n%âãÏÓ\n");
+
+        StringBuilder kids = new StringBuilder();
+        for (int i = 0; i < pages.size(); i++) {
+            kids.append(FIRST_PAGE + 2 * i).append(" 0 R ");
+        }
+
+        offsets[CATALOG] = out.object(CATALOG, "<< /Type /Catalog /Pages " + PAGES + " 0 R >>");
+        offsets[PAGES] = out.object(PAGES, "<< /Type /Pages /Kids [" + kids + "] /Count " + pages.size() + " >>");
+        offsets[REGULAR_FONT] = out.object(REGULAR_FONT,
+                "<< /Type /Font /Subtype /Type1 /BaseFont /Helvetica /Encoding /WinAnsiEncoding >>");
+        offsets[BOLD_FONT] = out.object(BOLD_FONT,
+                "<< /Type /Font /Subtype /Type1 /BaseFont /Helvetica-Bold /Encoding /WinAnsiEncoding >>");
+        offsets[INFO] = out.object(INFO, "<< /Title (E-Ticket " + escape(pnr) + ") /Producer (Flight Booking System) >>");
+
+        for (int i = 0; i < pages.size(); i++) {
+            int pageObject = FIRST_PAGE + 2 * i;
+            int contentObject = pageObject + 1;
+
+            offsets[pageObject] = out.object(pageObject, "<< /Type /Page /Parent " + PAGES + " 0 R"
+                    + " /MediaBox [0 0 " + PAGE_WIDTH + " " + PAGE_HEIGHT + "]"
+                    + " /Resources << /Font << /" + REGULAR + " " + REGULAR_FONT + " 0 R /" + BOLD + " " + BOLD_FONT + " 0 R >> >>"
+                    + " /Contents " + contentObject + " 0 R >>");
+            offsets[contentObject] = out.stream(contentObject, deflate(pages.get(i).content()));
+        }
+
+        int xref = out.size();
+        out.ascii("xref\n0 " + (objectCount + 1) + "\n0000000000 65535 f \n");
+        for (int object = 1; object <= objectCount; object++) {
+            out.ascii(String.format("%010d 00000 n \n", offsets[object]));
+        }
+        out.ascii("trailer\n<< /Size " + (objectCount + 1) + " /Root " + CATALOG + " 0 R /Info " + INFO + " 0 R >>\n"
+                + "startxref\n" + xref + "\n%%EOF\n");
+
+        return out.toByteArray();
+    }
+
+    private static byte[] deflate(byte[] content) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(content);
+            deflater.finish();
+
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(content.length / 2 + 64);
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                int length = deflater.deflate(buffer);
+                compressed.write(buffer, 0, length);
+            }
+            return compressed.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Escape a PDF literal string; characters outside Latin-1 become '?'
+     */
+    private static String escape(String value) {
+        StringBuilder escaped = new StringBuilder(value.length() + 8);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '(' || c == ')' || c == '\\') {
+                escaped.append('\\').append(c);
+            } else if (c < 32 || c > 255) {
+                escaped.append('?');
+            } else {
+                escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    /**
+     * Content stream operators of one page
+     */
+    private static final class Page {
+        private final StringBuilder content = new StringBuilder(2048);
+
+        private Page text(String font, int size, int x, int y, String value) {
+            content.append("BT /").append(font).append(' ').append(size).append(" Tf ")
+                    .append(x).append(' ').append(y).append(" Td (").append(escape(value)).append(") Tj ET\n");
+            return this;
+        }
+
+        private Page rule(int y) {
+            content.append("0.75 G 0.5 w ").append(MARGIN).append(' ').append(y).append(" m ")
+                    .append(PAGE_WIDTH - MARGIN).append(' ').append(y).append(" l S 0 G\n");
+            return this;
+        }
+
+        private Page fill(String rgb, int x, int y, int width, int height) {
+            content.append(rgb).append(" rg ").append(x).append(' ').append(y).append(' ')
+                    .append(width).append(' ').append(height).append(" re f\n");
+            return this;
+        }
+
+        private Page white() {
+            content.append("1 g\n");
+            return this;
+        }
+
+        private Page gray() {
+            content.append("0.4 g\n");
+            return this;
+        }
+
+        private Page black() {
+            content.append("0 g\n");
+            return this;
+        }
+
+        private byte[] content() {
+            return content.toString().getBytes(StandardCharsets.ISO_8859_1);
+        }
+    }
+
+    /**
+     * Byte sink that reports the offset each object starts at
+     */
+    private static final class PdfOutput extends ByteArrayOutputStream {
+
+        private PdfOutput() {
+            super(4096);
+        }
+
+        private void ascii(String value) {
+            writeBytes(value.getBytes(StandardCharsets.ISO_8859_1));
+        }
+
+        private int object(int number, String dictionary) {
+            int offset = size();
+            ascii(number + " 0 obj\n" + dictionary + "\nendobj\n");
+            return offset;
+        }
+
+        private int stream(int number, byte[] data) {
+            int offset = size();
+            ascii(number + " 0 obj\n<< /Length " + data.length + " /Filter /FlateDecode >>\nstream\n");
+            writeBytes(data);
+            ascii("\nendstream\nendobj\n");
+            return offset;
+        }
+    }
+}
@@ -1,22 +1,47 @@
 package com.validator;
 
+import com.cache.SeatHoldTable;
 import com.dto.request.BookingRequest;
 import com.exception.InvalidRequestException;
+import com.exception.SeatUnavailableException;
 import com.model.Flight;
-import com.model.Seat;
+import com.model.SeatHold;
+import com.util.SeatIndex;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 
 @Component
+@RequiredArgsConstructor
 public class BookingValidator {
 
+    private final SeatHoldTable seatHoldTable;
+
     /**
      * Validate booking request against flight data
      */
-    public void validateBookingRequest(BookingRequest request, Flight flight) {
+    public void validateBookingRequest(BookingRequest request, SeatIndex seats, Flight flight) {
+        validateBookingRequest(request, seats);
+
+        // Validate seat availability
+        validateSeatAvailability(seats, flight.getSeatBitmap());
+
+        // Check if enough seats available
+        if (flight.getAvailableSeats() < request.getPassengers().size()) {
+            throw new InvalidRequestException(
+                    String.format("Only %d seats available, but requested %d",
+                            flight.getAvailableSeats(),
+                            request.getPassengers().size())
+            );
+        }
+    }
+
+    /**
+     * Validate the parts of a booking request that do not depend on flight data
+     */
+    public void validateBookingRequest(BookingRequest request, SeatIndex seats) {
         // Check passenger count matches seat count
         if (request.getPassengers().size() != request.getSeatNumbers().size()) {
             throw new InvalidRequestException(
@@ -25,24 +50,14 @@ public class BookingValidator {
         }
 
         // Check for duplicate seat selections
-        Set<String> uniqueSeats = new HashSet<>(request.getSeatNumbers());
-        if (uniqueSeats.size() != request.getSeatNumbers().size()) {
+        if (seats.hasDuplicates()) {
             throw new InvalidRequestException(
                     "Duplicate seat selections are not allowed"
             );
         }
 
-        // Validate seat availability
-        validateSeatAvailability(request.getSeatNumbers(), flight.getSeats());
-
-        // Check if enough seats available
-        if (flight.getAvailableSeats() < request.getPassengers().size()) {
-            throw new InvalidRequestException(
-                    String.format("Only %d seats available, but requested %d",
-                            flight.getAvailableSeats(),
-                            request.getPassengers().size())
-            );
-        }
+        // Seats held by someone else cannot be booked
+        validateSeatHolds(request);
 
         // Validate passenger details
         request.getPassengers().forEach(passenger -> {
@@ -54,13 +69,37 @@ public class BookingValidator {
         });
     }
 
+    /**
+     * Check the request against active seat holds, using only the in-memory hold table
+     */
+    private void validateSeatHolds(BookingRequest request) {
+        if (request.getHoldId() != null) {
+            SeatHold hold = seatHoldTable.find(request.getHoldId())
+                    .filter(h -> h.getFlightId().equals(request.getFlightId()))
+                    .orElseThrow(() -> new InvalidRequestException(
+                            "Seat hold " + request.getHoldId() + " has expired or is not for this flight"
+                    ));
+
+            if (!new HashSet<>(hold.getSeatNumbers()).equals(new HashSet<>(request.getSeatNumbers()))) {
+                throw new InvalidRequestException(
+                        "Selected seats do not match seat hold " + request.getHoldId()
+                );
+            }
+        }
+
+        List<String> heldSeats = seatHoldTable.findHeldSeats(
+                request.getFlightId(), request.getSeatNumbers(), request.getHoldId());
+
+        if (!heldSeats.isEmpty()) {
+            throw new SeatUnavailableException(heldSeats);
+        }
+    }
+
     /**
      * Validate seat availability
      */
-    private void validateSeatAvailability(List<String> requestedSeats, List<Seat> flightSeats) {
-        List<String> unavailableSeats = requestedSeats.stream()
-                .filter(seatNumber -> !isSeatAvailable(seatNumber, flightSeats))
-                .toList();
+    private void validateSeatAvailability(SeatIndex seats, List<Long> seatBitmap) {
+        List<String> unavailableSeats = seats.unavailableIn(seatBitmap);
 
         if (!unavailableSeats.isEmpty()) {
             throw new InvalidRequestException(
@@ -68,12 +107,4 @@ public class BookingValidator {
             );
         }
     }
-
-    /**
-     * Check if a specific seat is available
-     */
-    private boolean isSeatAvailable(String seatNumber, List<Seat> flightSeats) {
-        return flightSeats.stream()
-                .anyMatch(seat -> seat.getSeatNumber().equals(seatNumber) && seat.getIsAvailable());
-    }
 }
\ No newline at end of file
@@ -10,6 +10,8 @@ import java.time.LocalDate;
 @Component
 public class FlightSearchValidator {
 
+    private static final int MAX_FLEX_DAYS = 15;
+
     /**
      * Validate flight search request
      */
@@ -58,6 +60,13 @@ public class FlightSearchValidator {
             }
 
 
+        // Validate stop count if provided
+        if (request.getMaxStops() != null && (request.getMaxStops() < 0 || request.getMaxStops() > 2)) {
+            throw new InvalidRequestException(
+                    "Maximum stops must be between 0 and 2"
+            );
+        }
+
         // Validate cabin class if provided
         if (request.getCabinClass() != null && !Constants.SEAT_ECONOMY.equalsIgnoreCase(request.getCabinClass()) &&
                     !Constants.SEAT_BUSINESS.equalsIgnoreCase(request.getCabinClass()) &&
@@ -68,4 +77,34 @@ public class FlightSearchValidator {
             }
 
     }
+
+    /**
+     * Validate fare calendar request
+     */
+    public void validateFareCalendarRequest(String origin, String destination, LocalDate date,
+                                            int flexDays, int passengers) {
+        if (origin.equalsIgnoreCase(destination)) {
+            throw new InvalidRequestException(
+                    "Origin and destination cannot be the same"
+            );
+        }
+
+        if (date.plusDays(flexDays).isBefore(LocalDate.now())) {
+            throw new InvalidRequestException(
+                    "Date window cannot be entirely in the past"
+            );
+        }
+
+        if (flexDays < 0 || flexDays > MAX_FLEX_DAYS) {
+            throw new InvalidRequestException(
+                    "Flexible days must be between 0 and " + MAX_FLEX_DAYS
+            );
+        }
+
+        if (passengers < 1 || passengers > 9) {
+            throw new InvalidRequestException(
+                    "Number of passengers must be between 1 and 9"
+            );
+        }
+    }
 }
\ No newline at end of file
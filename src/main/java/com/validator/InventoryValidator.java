@@ -1,24 +1,33 @@
 package com.validator;
 
+import com.cache.SeatLayoutCatalogue;
 import com.dto.request.InventoryRequest;
+import com.dto.request.ScheduleRequest;
 import com.exception.InvalidRequestException;
+import com.util.DateTimeUtil;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.time.DayOfWeek;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
 
 @Component
+@RequiredArgsConstructor
 public class InventoryValidator {
 
+    private static final int MAX_SCHEDULE_DAYS = 366;
+
+    private final SeatLayoutCatalogue seatLayoutCatalogue;
+
     /**
      * Validate inventory/schedule request
      */
     public void validateInventoryRequest(InventoryRequest request) {
-        // Validate arrival time is after departure time
-        if (!request.getArrivalDateTime().isAfter(request.getDepartureDateTime())) {
-            throw new InvalidRequestException(
-                    "Arrival time must be after departure time"
-            );
-        }
+        validateFlightTemplate(request);
 
         // Validate departure time is in the future
         if (request.getDepartureDateTime().isBefore(LocalDateTime.now())) {
@@ -26,6 +35,58 @@ public class InventoryValidator {
                     "Departure time cannot be in the past"
             );
         }
+    }
+
+    /**
+     * Validate recurring schedule request; the flight's times are only used for their time of day
+     * @return the days of week the schedule operates on
+     */
+    public Set<DayOfWeek> validateScheduleRequest(ScheduleRequest request) {
+        validateFlightTemplate(request.getFlight());
+
+        if (request.getEffectiveTo().isBefore(request.getEffectiveFrom())) {
+            throw new InvalidRequestException(
+                    "Effective end date cannot be before the start date"
+            );
+        }
+
+        if (ChronoUnit.DAYS.between(request.getEffectiveFrom(), request.getEffectiveTo()) >= MAX_SCHEDULE_DAYS) {
+            throw new InvalidRequestException(
+                    "A schedule can span at most " + MAX_SCHEDULE_DAYS + " days"
+            );
+        }
+
+        List<String> days = request.getFlight().getDaysOfWeek();
+        if (days == null || days.isEmpty()) {
+            throw new InvalidRequestException(
+                    "Days of week are required for a recurring schedule"
+            );
+        }
+
+        Set<DayOfWeek> daysOfWeek = EnumSet.noneOf(DayOfWeek.class);
+        for (String day : days) {
+            DayOfWeek dayOfWeek = DateTimeUtil.parseDayOfWeek(day);
+            if (dayOfWeek == null) {
+                throw new InvalidRequestException(
+                        "Invalid day of week: " + day + ". Use MON, TUE, ... or MONDAY, TUESDAY, ..."
+                );
+            }
+            daysOfWeek.add(dayOfWeek);
+        }
+
+        return daysOfWeek;
+    }
+
+    /**
+     * Checks shared by single flights and recurring schedules
+     */
+    private void validateFlightTemplate(InventoryRequest request) {
+        // Validate arrival time is after departure time
+        if (!request.getArrivalDateTime().isAfter(request.getDepartureDateTime())) {
+            throw new InvalidRequestException(
+                    "Arrival time must be after departure time"
+            );
+        }
 
         // Validate total seats is reasonable
         if (request.getTotalSeats() < 1 || request.getTotalSeats() > 500) {
@@ -34,6 +95,13 @@ public class InventoryValidator {
             );
         }
 
+        // Validate seat configuration
+        if (request.getSeatConfiguration() != null && !seatLayoutCatalogue.hasConfiguration(request.getSeatConfiguration())) {
+            throw new InvalidRequestException(
+                    "Unknown seat configuration: " + request.getSeatConfiguration()
+            );
+        }
+
         // Validate base fare
         if (request.getBaseFare() < 0) {
             throw new InvalidRequestException(
@@ -0,0 +1,72 @@
+package com.cache;
+
+import com.model.FlightSummary;
+import com.repository.FlightRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDate;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class FlightSearchCacheTest {
+
+    private static final LocalDate DATE = LocalDate.of(2030, 1, 15);
+
+    private final FlightRepository flightRepository = mock(FlightRepository.class);
+    private final Sinks.Many<FlightSummary> results = Sinks.many().unicast().onBackpressureBuffer();
+
+    private FlightSearchCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new FlightSearchCache(flightRepository, mock(FlightChangeFeed.class));
+        ReflectionTestUtils.setField(cache, "maxEntries", 100);
+        ReflectionTestUtils.setField(cache, "freshSeconds", 30L);
+        ReflectionTestUtils.setField(cache, "staleSeconds", 300L);
+
+        when(flightRepository.searchSummaries(anyString(), anyString(), any(), any(), anyInt()))
+                .thenReturn(results.asFlux());
+    }
+
+    @Test
+    void missStreamsResultsBeforeTheQueryCompletes() {
+        StepVerifier.create(cache.stream("DEL", "BOM", DATE))
+                .then(() -> results.tryEmitNext(summary("f1")))
+                .expectNextMatches(flight -> "f1".equals(flight.getId()))
+                .then(() -> results.tryEmitNext(summary("f2")))
+                .expectNextMatches(flight -> "f2".equals(flight.getId()))
+                .then(results::tryEmitComplete)
+                .verifyComplete();
+    }
+
+    @Test
+    void streamedQueryFillsTheCache() {
+        StepVerifier.create(cache.stream("DEL", "BOM", DATE))
+                .then(() -> {
+                    results.tryEmitNext(summary("f1"));
+                    results.tryEmitComplete();
+                })
+                .expectNextCount(1)
+                .verifyComplete();
+
+        StepVerifier.create(cache.get("DEL", "BOM", DATE))
+                .expectNextMatches(flights -> flights.size() == 1)
+                .verifyComplete();
+
+        verify(flightRepository, times(1)).searchSummaries(anyString(), anyString(), any(), any(), anyInt());
+    }
+
+    private static FlightSummary summary(String id) {
+        return FlightSummary.builder().id(id).origin("DEL").destination("BOM").availableSeats(10).build();
+    }
+}
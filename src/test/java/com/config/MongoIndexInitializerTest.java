@@ -0,0 +1,135 @@
+package com.config;
+
+import com.model.Airline;
+import com.model.Booking;
+import com.model.Flight;
+import com.model.OutboxMessage;
+import com.model.SeatHold;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.ReactiveIndexOperations;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MongoIndexInitializerTest {
+
+    private final ReactiveMongoTemplate mongoTemplate = mock(ReactiveMongoTemplate.class);
+    private final Map<Class<?>, ReactiveIndexOperations> indexOps = new HashMap<>();
+
+    private MongoIndexInitializer initializer;
+
+    @BeforeEach
+    void setUp() {
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(new MongoCustomConversions(List.of()).getSimpleTypeHolder());
+        when(mongoTemplate.getConverter())
+                .thenReturn(new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext));
+        for (Class<?> entity : MongoIndexInitializer.INDEXED_ENTITIES) {
+            ReactiveIndexOperations ops = mock(ReactiveIndexOperations.class);
+            when(ops.ensureIndex(any())).thenReturn(Mono.just("index"));
+            when(ops.getIndexInfo()).thenReturn(Flux.empty());
+            when(mongoTemplate.indexOps(entity)).thenReturn(ops);
+            indexOps.put(entity, ops);
+        }
+        initializer = new MongoIndexInitializer(mongoTemplate);
+    }
+
+    @Test
+    void ensuresUniqueScheduleIndexOnFlights() {
+        StepVerifier.create(initializer.ensureIndexes().then()).verifyComplete();
+
+        Document options = optionsOf(Flight.class, "airline_flight_departure_idx");
+        assertThat(options.getBoolean("unique")).isTrue();
+    }
+
+    @Test
+    void ensuresUniqueAirlineCode() {
+        StepVerifier.create(initializer.ensureIndexes().then()).verifyComplete();
+
+        assertThat(ensured(Airline.class))
+                .anySatisfy(index -> {
+                    assertThat(index.getIndexKeys()).containsKey("airlineCode");
+                    assertThat(index.getIndexOptions().getBoolean("unique")).isTrue();
+                });
+    }
+
+    @Test
+    void ensuresOutboxDispatchAndExpiryIndexes() {
+        StepVerifier.create(initializer.ensureIndexes().then()).verifyComplete();
+
+        optionsOf(OutboxMessage.class, "status_due_idx");
+        assertThat(ensured(OutboxMessage.class))
+                .anySatisfy(index -> {
+                    assertThat(index.getIndexKeys()).containsKey("sentAt");
+                    assertThat(index.getIndexOptions().getLong("expireAfterSeconds")).isEqualTo(7 * 24 * 3600L);
+                });
+    }
+
+    @Test
+    void ensuresSeatHoldExpiryIndex() {
+        StepVerifier.create(initializer.ensureIndexes().then()).verifyComplete();
+
+        assertThat(ensured(SeatHold.class))
+                .anySatisfy(index -> {
+                    assertThat(index.getIndexKeys()).containsKey("expiresAt");
+                    assertThat(index.getIndexOptions().getLong("expireAfterSeconds")).isZero();
+                });
+    }
+
+    @Test
+    void ensuresBookingLookupIndexesAndUniquePnr() {
+        StepVerifier.create(initializer.ensureIndexes().then()).verifyComplete();
+
+        optionsOf(Booking.class, "email_booked_idx");
+        assertThat(ensured(Booking.class))
+                .anySatisfy(index -> assertThat(index.getIndexKeys()).containsOnlyKeys("flightId"))
+                .anySatisfy(index -> {
+                    assertThat(index.getIndexKeys()).containsOnlyKeys("pnr");
+                    assertThat(index.getIndexOptions().getBoolean("unique")).isTrue();
+                });
+    }
+
+    @Test
+    void failedIndexDoesNotStopTheOthers() {
+        ReactiveIndexOperations flightOps = indexOps.get(Flight.class);
+        when(flightOps.ensureIndex(any())).thenReturn(Mono.error(new IllegalStateException("duplicate key")));
+
+        StepVerifier.create(initializer.ensureIndexes().then()).verifyComplete();
+
+        assertThat(ensured(Airline.class)).isNotEmpty();
+    }
+
+    private List<IndexDefinition> ensured(Class<?> entity) {
+        ArgumentCaptor<IndexDefinition> captor = ArgumentCaptor.forClass(IndexDefinition.class);
+        verify(indexOps.get(entity), atLeastOnce()).ensureIndex(captor.capture());
+        return captor.getAllValues();
+    }
+
+    private Document optionsOf(Class<?> entity, String name) {
+        return ensured(entity).stream()
+                .map(IndexDefinition::getIndexOptions)
+                .filter(options -> name.equals(options.getString("name")))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No index " + name + " on " + entity.getSimpleName()));
+    }
+}
@@ -0,0 +1,80 @@
+package com.config;
+
+import com.cache.SeatLayoutCatalogue;
+import com.model.CabinLayout;
+import com.model.Flight;
+import com.mongodb.client.result.UpdateResult;
+import com.repository.FlightRepository;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SeatBitmapMigrationTest {
+
+    private final ReactiveMongoTemplate mongoTemplate = mock(ReactiveMongoTemplate.class);
+
+    private SeatLayoutCatalogue seatLayoutCatalogue;
+    private SeatBitmapMigration migration;
+
+    @BeforeEach
+    void setUp() {
+        // New flights default to a non-standard configuration
+        SeatLayoutProperties properties = new SeatLayoutProperties();
+        properties.setDefaultConfiguration("A321");
+        properties.setConfigurations(Map.of("A321", List.of(
+                CabinLayout.builder().seatClass("BUSINESS").rows(4).letters("ACDF").build(),
+                CabinLayout.builder().seatClass("ECONOMY").letters("ABCDEF").build())));
+
+        seatLayoutCatalogue = new SeatLayoutCatalogue(mock(FlightRepository.class), properties);
+        migration = new SeatBitmapMigration(mongoTemplate, seatLayoutCatalogue);
+
+        when(mongoTemplate.getCollectionName(Flight.class)).thenReturn("flights");
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(Flight.class)))
+                .thenReturn(Mono.just(UpdateResult.acknowledged(1, 1L, null)));
+    }
+
+    @Test
+    void legacyFlightsGetTheStandardLayoutNotTheDefault() {
+        Document legacyFlight = new Document("_id", "flight-1")
+                .append("totalSeats", 180)
+                .append("seats", List.of(
+                        new Document("seatNumber", "1A").append("isAvailable", false),
+                        new Document("seatNumber", "1B").append("isAvailable", true)));
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("flights")))
+                .thenReturn(Flux.just(legacyFlight), Flux.empty());
+
+        migration.migrateEmbeddedSeats();
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(any(Query.class), update.capture(), eq(Flight.class));
+        Document set = update.getValue().getUpdateObject().get("$set", Document.class);
+
+        assertThat(set.getString("seatLayoutKey")).isEqualTo("STD-180");
+        // 1A booked, 1B still free
+        long firstWord = set.getList("seatBitmap", Long.class).get(0);
+        assertThat(firstWord & 0b11).isEqualTo(0b01);
+    }
+
+    @Test
+    void flightWithoutLayoutKeyUsesTheStandardLayout() {
+        Flight legacyFlight = Flight.builder().id("flight-1").totalSeats(180).build();
+
+        assertThat(seatLayoutCatalogue.forFlight(legacyFlight).getKey()).isEqualTo("STD-180");
+    }
+}
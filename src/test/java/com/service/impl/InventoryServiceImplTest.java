@@ -0,0 +1,117 @@
+package com.service.impl;
+
+import com.cache.FlightSearchCache;
+import com.cache.ReferenceDataCache;
+import com.cache.SeatLayoutCatalogue;
+import com.config.SeatLayoutProperties;
+import com.dto.request.InventoryRequest;
+import com.exception.DuplicateResourceException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.model.Airline;
+import com.model.Flight;
+import com.repository.FlightRepository;
+import com.validator.InventoryValidator;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class InventoryServiceImplTest {
+
+    private final FlightRepository flightRepository = mock(FlightRepository.class);
+    private final ReferenceDataCache referenceDataCache = mock(ReferenceDataCache.class);
+
+    private InventoryServiceImpl inventoryService;
+
+    @BeforeEach
+    void setUp() {
+        SeatLayoutCatalogue seatLayoutCatalogue = new SeatLayoutCatalogue(flightRepository, new SeatLayoutProperties());
+        inventoryService = new InventoryServiceImpl(
+                flightRepository,
+                referenceDataCache,
+                new InventoryValidator(seatLayoutCatalogue),
+                seatLayoutCatalogue,
+                mock(FlightSearchCache.class),
+                new ObjectMapper().findAndRegisterModules(),
+                Validation.buildDefaultValidatorFactory().getValidator());
+
+        when(referenceDataCache.findAirline(anyString()))
+                .thenReturn(Mono.just(Airline.builder().airlineCode("AI").name("Air India").build()));
+    }
+
+    @Test
+    void secondIdenticalFlightIsRejected() {
+        // The unique schedule index accepts the first insert and rejects the second
+        when(flightRepository.insert(any(Flight.class)))
+                .thenAnswer(invocation -> {
+                    Flight flight = invocation.getArgument(0);
+                    flight.setId("flight-1");
+                    return Mono.just(flight);
+                })
+                .thenReturn(Mono.error(new DuplicateKeyException("E11000 duplicate key error")));
+
+        StepVerifier.create(inventoryService.addFlightInventory(request()))
+                .expectNextMatches(response -> "flight-1".equals(response.getData()))
+                .verifyComplete();
+
+        StepVerifier.create(inventoryService.addFlightInventory(request()))
+                .expectError(DuplicateResourceException.class)
+                .verify();
+    }
+
+    @Test
+    void importPullsOnlyAboutOneBatchAhead() {
+        ReflectionTestUtils.setField(inventoryService, "importBatchSize", 100);
+        // The first bulk insert never finishes, so the import stalls on its first batch
+        when(flightRepository.insertAll(anyList())).thenReturn(Mono.never());
+
+        AtomicInteger linesRead = new AtomicInteger();
+        Flux<DataBuffer> body = Flux.range(1, 10_000)
+                .<DataBuffer>map(line -> DefaultDataBufferFactory.sharedInstance.wrap("{}\n".getBytes(StandardCharsets.UTF_8)))
+                .doOnNext(line -> linesRead.incrementAndGet())
+                // A request body is not fusable; without hide() the decoder drains the range synchronously
+                .hide();
+
+        StepVerifier.create(inventoryService.importFlightInventory(body, false))
+                .expectSubscription()
+                .expectNoEvent(Duration.ofMillis(100))
+                .thenCancel()
+                .verify();
+
+        // One batch plus the line decoder's own small read-ahead, not one batch per prefetch slot
+        assertThat(linesRead.get()).isLessThan(200);
+    }
+
+    private static InventoryRequest request() {
+        LocalDateTime departure = LocalDateTime.now().plusDays(10).withNano(0);
+        return InventoryRequest.builder()
+                .airlineCode("AI")
+                .flightNumber("AI101")
+                .origin("DEL")
+                .destination("BOM")
+                .departureDateTime(departure)
+                .arrivalDateTime(departure.plusHours(2))
+                .aircraftType("A320")
+                .totalSeats(180)
+                .baseFare(5000.0)
+                .build();
+    }
+}